@@ -0,0 +1,56 @@
+package study.datajpa.benchmark;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.datajpa.DataJpaApplication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 벤치마크용으로 웹 서버 없이 애플리케이션을 띄운다.
+ * SQL 로그와 p6spy 는 측정값을 왜곡하므로 끄고, SQL 실행 횟수를 세기 위해 Hibernate 통계는 켠다.
+ */
+public final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "spring.jpa.properties.hibernate.format_sql=false",
+                "decorator.datasource.p6spy.enable-logging=false",
+                "logging.level.org.hibernate.SQL=warn"));
+        all.addAll(List.of(properties));
+        return run(all);
+    }
+
+    /**
+     * 프로파일 설정을 그대로 측정한다 (SQL 로그/p6spy/통계 설정을 덮어쓰지 않는다).
+     */
+    public static ConfigurableApplicationContext startWithProfiles(String profiles) {
+        return run(List.of("spring.profiles.active=" + profiles));
+    }
+
+    // application.yml 보다 우선하도록 기본 속성이 아닌 커맨드라인 인자로 넘긴다.
+    private static ConfigurableApplicationContext run(List<String> properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:jmh-" + UUID.randomUUID(),
+                "--logging.level.root=warn"));
+        properties.forEach(property -> args.add("--" + property));
+
+        return new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+
+    public static Statistics statistics(ConfigurableApplicationContext context) {
+        return context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+}
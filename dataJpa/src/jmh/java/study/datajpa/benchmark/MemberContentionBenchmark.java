@@ -0,0 +1,69 @@
+package study.datajpa.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.service.MemberService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 회원 한 명을 여러 스레드가 동시에 수정할 때 비관적 락(select for update)과 낙관적 락 + 재시도 비교.
+ * SampleTime 모드라 결과에 p50/p99/p99.9 가 같이 나온다. 스레드 수는 -t 로 바꿀 수 있다 (./gradlew jmh -Pjmh.includes=MemberContention).
+ * 낙관적 모드의 재시도 횟수는 tearDown 에서 optimistic.retry 카운터로 출력한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MemberContentionBenchmark {
+
+    @Param({"optimistic", "pessimistic"})
+    String mode;
+
+    ConfigurableApplicationContext context;
+    MemberService memberService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 재시도가 소진되면 측정이 실패하므로 넉넉하게 잡는다
+        context = BenchmarkApplication.start("optimistic-retry.max-attempts=1000");
+        memberService = context.getBean(MemberService.class);
+        context.getBean(MemberRepository.class).save(new Member("contended", 0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        double retried = Search.in(context.getBean(MeterRegistry.class))
+                .name("optimistic.retry").tag("outcome", "retried").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum();
+        System.out.printf("%n[%s] optimistic retries: %.0f%n", mode, retried);
+        context.close();
+    }
+
+    @Benchmark
+    public int increaseAge() {
+        return "optimistic".equals(mode)
+                ? memberService.increaseAge("contended")
+                : memberService.increaseAgeWithLock("contended");
+    }
+}
@@ -0,0 +1,114 @@
+package study.datajpa.benchmark;
+
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+import study.datajpa.service.MemberBulkWriter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Member + Team 을 읽는 네 가지 방법 비교. 결과의 statements 를 ops 로 나누면 조회 1번당 SQL 실행 수가 된다.
+ * 할당률은 gc 프로파일러(build.gradle 의 jmh 설정)가 gc.alloc.rate.norm 으로 보여준다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MemberQueryBenchmark {
+
+    @Param({"1000", "10000"})
+    int members;
+
+    @Param({"10", "100"})
+    int teams;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    TransactionTemplate readOnly;
+    Statistics statistics;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SqlCounter {
+        public long statements;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        memberRepository = context.getBean(MemberRepository.class);
+        statistics = BenchmarkApplication.statistics(context);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<Team> teamList = context.getBean(TeamRepository.class)
+                .saveAll(IntStream.range(0, teams).mapToObj(i -> new Team("team" + i)).toList());
+        context.getBean(MemberBulkWriter.class)
+                .saveAll(IntStream.range(0, members).mapToObj(i -> new Member("bench" + i, i % 100, teamList.get(i % teams))));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long fetchJoin(SqlCounter counter) {
+        return load(counter, memberRepository::findMemberFetchJoin);
+    }
+
+    @Benchmark
+    public long entityGraphFindAll(SqlCounter counter) {
+        return load(counter, memberRepository::findAll);
+    }
+
+    @Benchmark
+    public long entityGraphQuery(SqlCounter counter) {
+        return load(counter, memberRepository::findMemberEntityGraph);
+    }
+
+    @Benchmark
+    public long lazyLoading(SqlCounter counter) {
+        return load(counter, memberRepository::findMemberCustom);
+    }
+
+    // 엔드포인트에서 하듯 팀 이름까지 접근해야 지연 로딩 비용이 측정에 포함된다.
+    private long load(SqlCounter counter, Supplier<List<Member>> query) {
+        long before = statistics.getPrepareStatementCount();
+        Long result = readOnly.execute(status -> {
+            long sum = 0;
+            for (Member member : query.get()) {
+                Team team = member.getTeam();
+                sum += team == null ? 0 : team.getName().length();
+            }
+            return sum;
+        });
+        counter.statements += statistics.getPrepareStatementCount() - before;
+        return result;
+    }
+}
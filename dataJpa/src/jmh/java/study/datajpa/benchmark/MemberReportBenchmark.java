@@ -0,0 +1,94 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberReportRepository;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+import study.datajpa.service.MemberBulkWriter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 10만 건 회원 + 팀 조회를 세 가지 방식으로 비교한다. 시간은 조회 + 커밋까지 포함.
+ * 세 방식 모두 같은 JPQL(select m from Member m left join fetch m.team)로 읽는다.
+ * 메모리 차이는 gc 프로파일러의 gc.alloc.rate.norm (조회 1번당 할당 바이트)으로 본다.
+ * <ul>
+ *     <li>readWrite: 일반 트랜잭션. 엔티티마다 스냅샷을 만들고 커밋 시 flush 에서 전부 비교한다</li>
+ *     <li>readOnly: 읽기 전용 트랜잭션. 스냅샷/flush 는 없지만 영속성 컨텍스트에는 올라간다</li>
+ *     <li>stateless: MemberReportRepository. 영속성 컨텍스트 자체를 쓰지 않는다</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class MemberReportBenchmark {
+
+    @Param({"100000"})
+    int members;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    MemberReportRepository memberReportRepository;
+    TransactionTemplate readWrite;
+    TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 2차 캐시에 10만 건이 쌓이면 측정이 왜곡되므로 끈다
+        context = BenchmarkApplication.start("spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        memberRepository = context.getBean(MemberRepository.class);
+        memberReportRepository = context.getBean(MemberReportRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        List<Team> teams = context.getBean(TeamRepository.class)
+                .saveAll(IntStream.range(0, 100).mapToObj(i -> new Team("team" + i)).toList());
+        context.getBean(MemberBulkWriter.class)
+                .saveAll(IntStream.range(0, members).mapToObj(i -> new Member("report" + i, i % 100, teams.get(i % 100))));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int readWrite() {
+        return readWrite.execute(status -> memberRepository.findMemberFetchJoin().size());
+    }
+
+    @Benchmark
+    public int readOnly() {
+        return readOnly.execute(status -> memberRepository.findMemberFetchJoin().size());
+    }
+
+    @Benchmark
+    public int stateless() {
+        return memberReportRepository.findAll().size();
+    }
+}
@@ -0,0 +1,64 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.service.MemberBulkWriter;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 프로파일별 SQL 한 건당 관측 비용 비교.
+ * default: p6spy + SQL debug 로그, prod: 모두 끔, prod,observability: 통계 + 슬로우 쿼리만.
+ * 출력이 많으므로 default 는 표준 출력을 파일로 돌려서 실행하는 것이 좋다 (./gradlew jmh -Pjmh.includes=ObservabilityOverhead > jmh.log).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ObservabilityOverheadBenchmark {
+
+    static final int MEMBERS = 1000;
+
+    @Param({"default", "prod", "prod,observability"})
+    String profile;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.startWithProfiles(profile);
+        memberRepository = context.getBean(MemberRepository.class);
+        context.getBean(MemberBulkWriter.class)
+                .saveAll(IntStream.range(0, MEMBERS).mapToObj(i -> new Member("bench" + i, i % 100)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int findByUsername() {
+        int i = ThreadLocalRandom.current().nextInt(MEMBERS);
+        return memberRepository.findByUsernameAndAgeGreaterThan("bench" + i, -1).size();
+    }
+}
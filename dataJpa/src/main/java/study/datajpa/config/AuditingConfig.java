@@ -0,0 +1,30 @@
+package study.datajpa.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.AuditorAware;
+import study.datajpa.support.auditing.AuditClock;
+import study.datajpa.support.auditing.RequestScopedAuditorAware;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Configuration
+public class AuditingConfig {
+
+    // 실제로는 로그인 사용자 id 를 꺼낸다. 예제라 요청마다 임의의 id 를 쓰되,
+    // SecureRandom 을 쓰는 UUID.randomUUID() 대신 ThreadLocalRandom 으로 만들고 요청 단위로 캐시한다.
+    @Bean
+    public AuditorAware<String> auditorProvider() {
+        return new RequestScopedAuditorAware(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return new UUID(random.nextLong(), random.nextLong()).toString();
+        }, "system");
+    }
+
+    @Bean
+    public AuditClock auditDateTimeProvider() {
+        return new AuditClock(Clock.systemDefaultZone());
+    }
+}
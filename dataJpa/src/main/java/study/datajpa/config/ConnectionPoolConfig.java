@@ -0,0 +1,29 @@
+package study.datajpa.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.datajpa.support.datasource.ConnectionPoolHealthIndicator;
+import study.datajpa.support.datasource.ConnectionPoolProperties;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.Objects;
+
+@Configuration
+@EnableConfigurationProperties(ConnectionPoolProperties.class)
+public class ConnectionPoolConfig {
+
+    // p6spy 로 감싼 풀과 라우팅 설정의 primary/replica 풀을 모두 찾는다. (라우팅 프록시는 풀이 아니므로 빠진다)
+    @Bean
+    public ConnectionPoolHealthIndicator connectionPoolHealthIndicator(Map<String, DataSource> dataSources,
+                                                                       ConnectionPoolProperties properties) {
+        return new ConnectionPoolHealthIndicator(dataSources.values().stream()
+                .map(dataSource -> DataSourceUnwrapper.unwrap(dataSource, HikariDataSource.class))
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList(), properties);
+    }
+}
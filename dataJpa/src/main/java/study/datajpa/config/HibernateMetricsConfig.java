@@ -0,0 +1,63 @@
+package study.datajpa.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.spi.QueryInterpretationCache;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+
+/**
+ * Hibernate 통계(hit/miss/put)는 hibernate-micrometer 가 hibernate.* 지표로 올려준다.
+ * 여기서는 그 외에 필요한 지표를 추가한다.
+ */
+@Configuration
+public class HibernateMetricsConfig {
+
+    // 2차 캐시 영역별 cache.gets / cache.puts / cache.evictions (Caffeine JCache 통계)
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory emf) {
+        return registry -> {
+            if (emf.unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory() instanceof JCacheRegionFactory regionFactory) {
+                CacheManager cacheManager = regionFactory.getCacheManager();
+                for (String name : cacheManager.getCacheNames()) {
+                    JCacheMetrics.monitor(registry, cacheManager.getCache(name), Tags.of("cache.manager", "hibernate"));
+                }
+            }
+        };
+    }
+
+    // 쿼리 플랜 캐시 적중률과 크기. 적중률이 낮거나 크기가 계속 늘면 쿼리 문자열이 매번 달라지고 있다는 뜻 (동적 JPQL 등)
+    @Bean
+    public MeterBinder queryPlanCacheMetrics(EntityManagerFactory emf) {
+        SessionFactoryImplementor sessionFactory = emf.unwrap(SessionFactoryImplementor.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        QueryInterpretationCache interpretationCache = sessionFactory.getQueryEngine().getInterpretationCache();
+        return registry -> {
+            Gauge.builder("hibernate.query.plan.cache.hit.ratio", statistics, HibernateMetricsConfig::planCacheHitRatio)
+                    .description("Query plan cache hit ratio (requires generate_statistics)")
+                    .register(registry);
+            Gauge.builder("hibernate.query.plan.cache.size", interpretationCache, QueryInterpretationCache::getNumberOfCachedHqlInterpretations)
+                    .description("Cached HQL interpretations")
+                    .tag("type", "hql")
+                    .register(registry);
+            Gauge.builder("hibernate.query.plan.cache.size", interpretationCache, QueryInterpretationCache::getNumberOfCachedQueryPlans)
+                    .description("Cached query plans")
+                    .tag("type", "plan")
+                    .register(registry);
+        };
+    }
+
+    private static double planCacheHitRatio(Statistics statistics) {
+        long hits = statistics.getQueryPlanCacheHitCount();
+        long total = hits + statistics.getQueryPlanCacheMissCount();
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+}
@@ -0,0 +1,41 @@
+package study.datajpa.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import study.datajpa.support.concurrency.JdbcConcurrencyLimitFilter;
+import study.datajpa.support.concurrency.JdbcConcurrencyLimitProperties;
+
+/**
+ * 가상 스레드 모드(application-virtual.yml)에서 회원 API 의 동시 DB 접근을 커넥션 풀 크기로 제한한다.
+ */
+@Configuration
+@EnableConfigurationProperties(JdbcConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "jdbc-limiter", name = "enabled", havingValue = "true")
+public class JdbcConcurrencyLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<JdbcConcurrencyLimitFilter> jdbcConcurrencyLimitFilter(
+            JdbcConcurrencyLimitProperties properties, Environment environment, MeterRegistry meterRegistry) {
+        int permits = properties.permits() != null
+                ? properties.permits()
+                : environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        JdbcConcurrencyLimitFilter filter = new JdbcConcurrencyLimitFilter(permits, properties.acquireTimeout());
+
+        Gauge.builder("jdbc.limiter.waiting", filter, JdbcConcurrencyLimitFilter::queueLength)
+                .description("Requests waiting for a JDBC permit")
+                .register(meterRegistry);
+        Gauge.builder("jdbc.limiter.available", filter, JdbcConcurrencyLimitFilter::availablePermits)
+                .description("Unused JDBC permits")
+                .register(meterRegistry);
+
+        FilterRegistrationBean<JdbcConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/members", "/members/*", "/members2/*");
+        return registration;
+    }
+}
@@ -0,0 +1,25 @@
+package study.datajpa.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.DispatcherServlet;
+
+/**
+ * spring.main.lazy-initialization(prod)에서도 컨트롤러, 서비스, DispatcherServlet 은 시작할 때 만든다.
+ * 지연시키면 첫 요청이 빈 생성 비용을 치러서 쿼리 워밍업으로 없앤 첫 요청 지연이 다시 생긴다.
+ */
+@Configuration
+public class LazyInitializationConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter eagerWebAndServiceTier() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (AnnotatedElementUtils.hasAnnotation(beanType, Controller.class)
+                || AnnotatedElementUtils.hasAnnotation(beanType, Service.class)
+                || DispatcherServlet.class.isAssignableFrom(beanType));
+    }
+}
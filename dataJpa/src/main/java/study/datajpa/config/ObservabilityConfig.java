@@ -0,0 +1,34 @@
+package study.datajpa.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.datajpa.support.metrics.SlowQueryStatistics;
+
+import java.time.Duration;
+
+/**
+ * observability 프로파일에서 켠다 (application-observability.yml).
+ * 쿼리 플랜 캐시/엔티티 load·fetch 수는 hibernate-micrometer 가 hibernate.* 지표로 올리고, 여기서는 슬로우 쿼리만 추가한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "observability.slow-query.enabled", havingValue = "true")
+public class ObservabilityConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer slowQueryStatisticsCustomizer(
+            MeterRegistry meterRegistry,
+            @Value("${observability.slow-query.threshold:200ms}") Duration threshold) {
+        Counter slowQueries = Counter.builder("hibernate.query.slow")
+                .description("Queries slower than observability.slow-query.threshold")
+                .register(meterRegistry);
+        StatisticsFactory factory = sessionFactory -> new SlowQueryStatistics(sessionFactory, threshold.toMillis(), slowQueries);
+        return properties -> properties.put(AvailableSettings.STATS_BUILDER, factory);
+    }
+}
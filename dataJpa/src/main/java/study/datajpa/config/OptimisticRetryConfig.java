@@ -0,0 +1,18 @@
+package study.datajpa.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.datajpa.support.retry.OptimisticRetryAspect;
+import study.datajpa.support.retry.OptimisticRetryProperties;
+
+@Configuration
+@EnableConfigurationProperties(OptimisticRetryProperties.class)
+public class OptimisticRetryConfig {
+
+    @Bean
+    public OptimisticRetryAspect optimisticRetryAspect(OptimisticRetryProperties properties, MeterRegistry meterRegistry) {
+        return new OptimisticRetryAspect(properties, meterRegistry);
+    }
+}
@@ -0,0 +1,41 @@
+package study.datajpa.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import study.datajpa.support.querycount.QueryBudgetInterceptor;
+import study.datajpa.support.querycount.QueryBudgetProperties;
+import study.datajpa.support.querycount.QueryCountInspector;
+import study.datajpa.support.querycount.QueryCountRecorder;
+import study.datajpa.support.querycount.TransactionalQueryCountAspect;
+
+@Configuration
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+public class QueryCountConfig implements WebMvcConfigurer {
+
+    private final QueryCountRecorder queryCountRecorder;
+
+    public QueryCountConfig(MeterRegistry meterRegistry, QueryBudgetProperties properties) {
+        this.queryCountRecorder = new QueryCountRecorder(meterRegistry, properties);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    @Bean
+    public TransactionalQueryCountAspect transactionalQueryCountAspect() {
+        return new TransactionalQueryCountAspect(queryCountRecorder);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryBudgetInterceptor(queryCountRecorder));
+    }
+}
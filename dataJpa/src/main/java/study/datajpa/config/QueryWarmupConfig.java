@@ -0,0 +1,27 @@
+package study.datajpa.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.support.warmup.QueryWarmupProperties;
+import study.datajpa.support.warmup.QueryWarmupRunner;
+
+@Configuration
+@EnableConfigurationProperties(QueryWarmupProperties.class)
+@ConditionalOnProperty(prefix = "query-warmup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryWarmupConfig {
+
+    @Bean
+    public QueryWarmupRunner queryWarmupRunner(ApplicationContext applicationContext, EntityManager em,
+                                               PlatformTransactionManager transactionManager,
+                                               QueryWarmupProperties properties,
+                                               MeterRegistry meterRegistry) {
+        return new QueryWarmupRunner(applicationContext, em, new TransactionTemplate(transactionManager), properties, meterRegistry);
+    }
+}
@@ -0,0 +1,35 @@
+package study.datajpa.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import study.datajpa.support.metrics.EntityLoadCounter;
+import study.datajpa.support.metrics.RepositoryMetricsAspect;
+
+/**
+ * Boot 기본 지표(spring.data.repository.invocations)는 Spring Data 리포지토리만 재고 행/엔티티 수가 없어서 끄고 이것을 쓴다.
+ */
+@Configuration
+public class RepositoryMetricsConfig {
+
+    @Bean
+    public RepositoryMetricsAspect repositoryMetricsAspect(MeterRegistry meterRegistry) {
+        return new RepositoryMetricsAspect(meterRegistry);
+    }
+
+    // 애스펙트가 EntityManagerFactory 에 의존하면 프록시 생성 중 순환 참조가 생기므로 리스너 등록은 따로 한다.
+    // 지연 초기화(prod)에서도 만들어져야 afterSingletonsInstantiated 가 호출된다.
+    @Bean
+    @Lazy(false)
+    public SmartInitializingSingleton entityLoadCounterRegistration(EntityManagerFactory emf) {
+        return () -> emf.unwrap(SessionFactoryImplementor.class).getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, new EntityLoadCounter());
+    }
+}
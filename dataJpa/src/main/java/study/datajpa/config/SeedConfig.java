@@ -0,0 +1,23 @@
+package study.datajpa.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import study.datajpa.service.MemberBulkWriter;
+import study.datajpa.service.seed.MemberSeedRunner;
+import study.datajpa.service.seed.SeedProperties;
+
+@Configuration
+@EnableConfigurationProperties(SeedProperties.class)
+@ConditionalOnProperty(prefix = "seed", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SeedConfig {
+
+    // 쿼리 워밍업보다 먼저 (데이터가 있는 상태로 플랜을 만든다)
+    @Bean
+    @Order(0)
+    public MemberSeedRunner memberSeedRunner(MemberBulkWriter memberBulkWriter, SeedProperties properties) {
+        return new MemberSeedRunner(memberBulkWriter, properties);
+    }
+}
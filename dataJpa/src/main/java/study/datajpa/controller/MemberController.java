@@ -1,45 +1,125 @@
 package study.datajpa.controller;
 
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import study.datajpa.dto.MemberCursor;
 import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.MemberSummary;
+import study.datajpa.dto.MemberWindowDto;
 import study.datajpa.entity.Member;
 import study.datajpa.repository.MemberRepository;
+import study.datajpa.service.ExportFormat;
+import study.datajpa.service.MemberExportService;
+import study.datajpa.service.MemberLookupCoalescer;
+import study.datajpa.service.MemberQueryService;
+import study.datajpa.support.paging.CountMode;
+import study.datajpa.support.paging.CountQuery;
+import study.datajpa.support.paging.CountedPage;
+import study.datajpa.support.paging.PageCounter;
+import study.datajpa.support.querycount.QueryBudget;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final int MAX_WINDOW_SIZE = 2000; // spring.data.web.pageable.max-page-size 와 맞춘다.
+
     private final MemberRepository memberRepository;
+    private final MemberExportService memberExportService;
+    private final MemberQueryService memberQueryService;
+    private final MemberLookupCoalescer memberLookupCoalescer;
+    private final PageCounter pageCounter;
 
+    // 같은 id 로 동시에 들어온 요청은 조회 한 번(2차 캐시를 타는 findById)의 결과를 나눠 받는다.
+    @QueryBudget(1)
     @GetMapping("/members/{id}")
     public String getMember(@PathVariable("id") Long id) {
-        Member findMember = memberRepository.findById(id)
+        return memberLookupCoalescer.findUsernameById(id)
                 .orElseThrow(() -> new IllegalArgumentException("해당 ID의 멤버를 찾을 수 없습니다."));
-
-        return findMember.getUsername();
     }
 
+    // 도메인 클래스 컨버터는 요청마다 findById 를 호출하므로 합쳐지지 않는다 (2차 캐시는 탄다).
+    @QueryBudget(1)
     @GetMapping("/members2/{id}")
     public String getMember2(@PathVariable("id") Member member) {
         return member.getUsername();
     }
 
+    // 회원 목록은 쿼리 캐시, 팀은 배치 페치로 한 번
+    @QueryBudget(2)
+    @GetMapping("/members/username/{username}")
+    public List<MemberSummary> getMembersByUsername(@PathVariable("username") String username) {
+        return memberLookupCoalescer.findByUsername(username);
+    }
+
+    // count=exact|cached|estimated|skip, 응답의 totalExact 로 total 이 정확한지 알 수 있다.
+    @QueryBudget(2) // 컨텐츠 + count
     @GetMapping("/members")
-    public Page<MemberDto> getPage(@PageableDefault(size = 5) Pageable pageable) {
-        return memberRepository.findAll(pageable).map(MemberDto::new);
+    public CountedPage<MemberSummary> getPage(@PageableDefault(size = 5) Pageable pageable,
+                                              @RequestParam(value = "count", defaultValue = "cached") String count) {
+        return pageCounter.toPage(memberRepository.findSliceProjectedBy(pageable), CountMode.from(count),
+                CountQuery.of("members", memberRepository::count).estimatedBy(memberRepository::estimateCount));
+    }
+
+    @QueryBudget(2)
+    @GetMapping("/members/age/{age}")
+    public CountedPage<MemberSummary> getPageByAge(@PathVariable("age") int age,
+                                                   @PageableDefault(size = 5) Pageable pageable,
+                                                   @RequestParam(value = "count", defaultValue = "skip") String count) {
+        return pageCounter.toPage(memberRepository.findSummarySliceByAge(age, pageable), CountMode.from(count),
+                CountQuery.of("members:age=" + age, () -> memberRepository.countByAge(age)));
+    }
+
+    // after 가 비어 있으면 첫 페이지, 아니면 이전 응답의 next 커서 이후부터 조회
+    @QueryBudget(1)
+    @GetMapping(value = "/members", params = "after")
+    public MemberWindowDto getWindow(@RequestParam("after") String after,
+                                     @RequestParam(value = "size", defaultValue = "5") int size) {
+        ScrollPosition position = after.isBlank() ? ScrollPosition.keyset() : MemberCursor.decode(after).toPosition();
+        Window<Member> window = memberRepository.findWindowBy(position, MemberCursor.SORT, Limit.of(Math.clamp(size, 1, MAX_WINDOW_SIZE)));
+
+        String next = window.hasNext() ? MemberCursor.of(window.getContent().getLast()).encode() : null;
+        return new MemberWindowDto(window.map(MemberDto::new).getContent(), next, window.hasNext());
+    }
+
+    // ex) /members/lookup?username=member1&username=member2&team=teamA
+    // username 별 조회와 팀 조회를 동시에 실행하므로 응답 시간은 합이 아니라 가장 느린 조회 하나에 가깝다.
+    @GetMapping("/members/lookup")
+    public CompletableFuture<Map<String, List<MemberDto>>> lookup(@RequestParam(value = "username", required = false) List<String> usernames,
+                                                                 @RequestParam(value = "team", required = false) String team) {
+        CompletableFuture<Map<String, List<MemberDto>>> byUsername = memberQueryService.findByUsernames(usernames == null ? List.of() : usernames);
+        CompletableFuture<List<MemberDto>> byTeam = team == null
+                ? CompletableFuture.completedFuture(List.of())
+                : memberQueryService.findByTeamName(team);
+
+        return byUsername.thenCombine(byTeam, (members, teamMembers) -> {
+            if (team != null) {
+                members.put("team:" + team, teamMembers);
+            }
+            return members;
+        });
     }
 
-    @PostConstruct
-    public void init() {
-        for (int i = 0; i < 100; i++) {
-            memberRepository.save(new Member("member" + i, i));
-        }
+    // ex) /members/export?format=csv, 응답은 요청 스레드가 아닌 비동기 스레드에서 조금씩 쓰여진다.
+    @GetMapping("/members/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(value = "format", defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .body(out -> memberExportService.export(exportFormat, out));
     }
 }
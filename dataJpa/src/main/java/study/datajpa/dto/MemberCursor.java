@@ -0,0 +1,43 @@
+package study.datajpa.dto;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import study.datajpa.entity.Member;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * 키셋(seek) 페이징용 커서. 마지막으로 내려준 (username, member_id) 를 담고 있고,
+ * 클라이언트에는 Base64 로 인코딩한 불투명한 토큰으로만 노출한다.
+ */
+public record MemberCursor(String username, Long id) {
+
+    // 커서의 정렬 기준. id 를 마지막에 두어야 username 이 같은 경우에도 순서가 유일해진다.
+    public static final Sort SORT = Sort.by("username", "id");
+
+    public static MemberCursor of(Member member) {
+        return new MemberCursor(member.getUsername(), member.getId());
+    }
+
+    public static MemberCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new MemberCursor(raw.substring(separator + 1), Long.valueOf(raw.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + token, e);
+        }
+    }
+
+    public String encode() {
+        String raw = id + ":" + username; // id 에는 ':' 가 없으므로 첫 번째 ':' 로 구분한다.
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public KeysetScrollPosition toPosition() {
+        return ScrollPosition.forward(Map.of("username", username, "id", id));
+    }
+}
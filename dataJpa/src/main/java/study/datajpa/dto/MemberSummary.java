@@ -0,0 +1,15 @@
+package study.datajpa.dto;
+
+import study.datajpa.entity.Member;
+
+/**
+ * 목록 조회용 프로젝션. 엔티티 대신 필요한 컬럼만 조회해서 스냅샷/영속성 컨텍스트 비용이 없다.
+ */
+public record MemberSummary(Long id, String username, String teamName) {
+
+    // 팀이 지연 로딩이므로 트랜잭션(영속성 컨텍스트) 안에서 호출해야 한다.
+    public static MemberSummary from(Member member) {
+        return new MemberSummary(member.getId(), member.getUsername(),
+                member.getTeam() == null ? null : member.getTeam().getName());
+    }
+}
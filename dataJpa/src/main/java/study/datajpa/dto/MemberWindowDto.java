@@ -0,0 +1,9 @@
+package study.datajpa.dto;
+
+import java.util.List;
+
+/**
+ * 키셋 페이징 응답. next 커서를 그대로 다음 요청의 after 로 넘기면 이어서 조회된다.
+ */
+public record MemberWindowDto(List<MemberDto> content, String next, boolean hasNext) {
+}
@@ -0,0 +1,74 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.data.domain.AuditorAware;
+import study.datajpa.support.auditing.AuditClock;
+import study.datajpa.support.auditing.AuditingMode;
+
+/**
+ * BaseTimeEntity/BaseEntity 의 감사 필드를 채운다. auditing.mode 에 따라
+ * SPRING: AuditingEntityListener 와 같이 AuditingHandler 에 맡기고,
+ * FAST: 엔티티의 markCreated/markModified 로 필드에 직접 넣는다 (어노테이션 탐색/리플렉션 없음).
+ * Hibernate 가 스프링 빈 컨테이너로 생성하므로 세터 주입을 받는다.
+ */
+public class AuditListener {
+
+    private AuditingMode mode = AuditingMode.SPRING;
+    private ObjectProvider<AuditingHandler> auditingHandler;
+    private AuditorAware<String> auditorAware;
+    private AuditClock auditClock;
+
+    @Autowired
+    public void setMode(@Value("${auditing.mode:spring}") AuditingMode mode) {
+        this.mode = mode;
+    }
+
+    @Autowired
+    public void setAuditingHandler(ObjectProvider<AuditingHandler> auditingHandler) {
+        this.auditingHandler = auditingHandler;
+    }
+
+    @Autowired
+    public void setAuditorAware(AuditorAware<String> auditorAware) {
+        this.auditorAware = auditorAware;
+    }
+
+    @Autowired
+    public void setAuditClock(AuditClock auditClock) {
+        this.auditClock = auditClock;
+    }
+
+    @PrePersist
+    public void touchForCreate(Object target) {
+        if (mode == AuditingMode.OFF) {
+            return;
+        }
+        if (mode == AuditingMode.SPRING) {
+            auditingHandler.getObject().markCreated(target);
+        } else if (target instanceof BaseTimeEntity entity) {
+            entity.markCreated(auditClock.now(), auditor(entity));
+        }
+    }
+
+    @PreUpdate
+    public void touchForUpdate(Object target) {
+        if (mode == AuditingMode.OFF) {
+            return;
+        }
+        if (mode == AuditingMode.SPRING) {
+            auditingHandler.getObject().markModified(target);
+        } else if (target instanceof BaseTimeEntity entity) {
+            entity.markModified(auditClock.now(), auditor(entity));
+        }
+    }
+
+    // 작성자 컬럼이 없는 엔티티는 작성자를 구하지 않는다
+    private String auditor(BaseTimeEntity entity) {
+        return entity instanceof BaseEntity ? auditorAware.getCurrentAuditor().orElse(null) : null;
+    }
+}
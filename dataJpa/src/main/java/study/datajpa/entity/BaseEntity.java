@@ -1,16 +1,15 @@
 package study.datajpa.entity;
 
 import jakarta.persistence.Column;
-import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
 import lombok.Getter;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.LastModifiedBy;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
 
 @Getter
 @MappedSuperclass
-@EntityListeners(AuditingEntityListener.class)
 public class BaseEntity extends BaseTimeEntity {
 
     @CreatedBy
@@ -19,5 +18,17 @@ public class BaseEntity extends BaseTimeEntity {
 
     @LastModifiedBy
     private String lastModifiedBy;
-}
 
+    @Override
+    void markCreated(LocalDateTime now, String auditor) {
+        super.markCreated(now, auditor);
+        this.createdBy = auditor;
+        this.lastModifiedBy = auditor;
+    }
+
+    @Override
+    void markModified(LocalDateTime now, String auditor) {
+        super.markModified(now, auditor);
+        this.lastModifiedBy = auditor;
+    }
+}
@@ -6,13 +6,12 @@ import jakarta.persistence.MappedSuperclass;
 import lombok.Getter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 
 @Getter
 @MappedSuperclass
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners(AuditListener.class) // AuditingEntityListener 대신. auditing.mode 로 리플렉션 방식/직접 대입 방식을 고른다.
 public class BaseTimeEntity {
 
     @CreatedDate
@@ -21,4 +20,14 @@ public class BaseTimeEntity {
 
     @LastModifiedDate
     private LocalDateTime lastModifiedDate;
+
+    // AuditListener(FAST) 전용. auditor 는 BaseEntity 에서 사용한다.
+    void markCreated(LocalDateTime now, String auditor) {
+        this.createdDate = now;
+        this.lastModifiedDate = now;
+    }
+
+    void markModified(LocalDateTime now, String auditor) {
+        this.lastModifiedDate = now;
+    }
 }
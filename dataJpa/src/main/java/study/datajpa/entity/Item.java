@@ -1,8 +1,10 @@
 package study.datajpa.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Id;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.domain.Persistable;
@@ -20,7 +22,9 @@ public class Item implements Persistable<String> {
     @Id
     private String id;
 
+    @Getter
     @CreatedDate
+    @Column(updatable = false) // merge 로 저장해도 DB 의 생성일을 덮어쓰지 않는다.
     private LocalDateTime createdDate;
 
     public Item(String id) {
@@ -29,11 +33,18 @@ public class Item implements Persistable<String> {
 
     @Override
     public String getId() {
-        return null;
+        return id;
     }
 
     @Override
     public boolean isNew() {
-        return createdDate == null;
+        return createdDate == null; // id 를 직접 할당하므로 id 대신 생성일로 새 엔티티인지 판단한다.
+    }
+
+    // JPA 를 거치지 않고 저장(upsert)한 뒤에 DB 에 있는 생성일로 호출. 이후 save 가 persist 대신 merge 를 타도록 새 엔티티가 아님을 표시한다.
+    public void markPersisted(LocalDateTime createdDate) {
+        if (this.createdDate == null) {
+            this.createdDate = createdDate;
+        }
     }
 }
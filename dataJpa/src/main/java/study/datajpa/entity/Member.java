@@ -1,40 +1,64 @@
 package study.datajpa.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.NamedAttributeNode;
 import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.NamedQuery;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import static jakarta.persistence.FetchType.LAZY;
-import static jakarta.persistence.GenerationType.IDENTITY;
+import static jakarta.persistence.GenerationType.SEQUENCE;
 import static lombok.AccessLevel.PROTECTED;
 
 @Entity
+@Table(indexes = {
+        // username = ? (and age > ?), username in (...): findByUsername, findByUsernameAndAgeGreaterThan, findByNames ...
+        @Index(name = "idx_member_username_age", columnList = "username, age"),
+        // age = ? order by username: findByAge, findSliceByAge, findByPage. id 까지 포함해서 count 와 id 조회는 테이블을 읽지 않는다 (커버링)
+        @Index(name = "idx_member_age_username", columnList = "age, username, member_id"),
+        // 키셋 페이징 정렬 (username, id): findWindowBy
+        @Index(name = "idx_member_username_id", columnList = "username, member_id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "member")
 @Getter
 @NoArgsConstructor(access = PROTECTED)
 @ToString(of = {"id", "username", "age"}) // 연관관계 필드는 ToString 안 하는 것을 추천
 @NamedQuery(
         name = "Member.findByUsername",
-        query = "select m from Member m where m.username = :username")
+        query = "select m from Member m where m.username = :username",
+        hints = @QueryHint(name = "org.hibernate.cacheable", value = "true")) // 쿼리 캐시 사용
 @NamedEntityGraph(name = "Member.all",
         attributeNodes = @NamedAttributeNode("team"))
 public class Member extends BaseEntity{
 
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(strategy = SEQUENCE, generator = "member_seq_generator")
+    // IDENTITY 는 insert 를 해야 id 를 알 수 있어서 JDBC 배치가 불가능하다. pooled 시퀀스로 50개씩 미리 할당받는다.
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 50)
     @Column(name = "member_id")
     private Long id;
     private String username;
     private int age;
 
+    @Version // 낙관적 락. 동시에 수정하면 나중에 커밋하는 쪽이 OptimisticLockException
+    private Long version;
+
     @ManyToOne(fetch = LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
@@ -61,6 +85,10 @@ public class Member extends BaseEntity{
         this.username = updateName;
     }
 
+    public void increaseAge() {
+        this.age++;
+    }
+
     public void changeTeam(Team team) {
         this.team = team;
         team.getMembers().add(this);
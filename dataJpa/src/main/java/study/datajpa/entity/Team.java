@@ -1,14 +1,19 @@
 package study.datajpa.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,6 +21,9 @@ import java.util.List;
 import static lombok.AccessLevel.PROTECTED;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team")
+@BatchSize(size = 100) // Member.team 프록시를 팀 100개씩 in 절로 초기화
 @Getter
 @NoArgsConstructor(access = PROTECTED)
 @ToString(of = {"id", "name"})
@@ -28,6 +36,10 @@ public class Team {
 
     private String name;
 
+    @Version
+    private Long version;
+
+    @BatchSize(size = 100) // 팀마다 select 하지 않고 영속성 컨텍스트의 다른 팀 컬렉션까지 in 절로 같이 초기화
     @OneToMany(mappedBy = "team")
     private List<Member> members = new ArrayList<>();
 
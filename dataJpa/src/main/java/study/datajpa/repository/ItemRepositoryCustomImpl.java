@@ -0,0 +1,92 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Item;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * id 를 직접 할당하는 Item 은 save 할 때마다 merge(select + insert/update) 가 일어난다.
+ * 대량 적재는 select 없이 MERGE 문을 JDBC 배치로 보낸다. (이미 있는 id 는 생성일을 유지한 채 건너뛴다)
+ * insert 된 행만 이번 생성일을 갖고, 건너뛴 행은 DB 의 생성일을 읽어서 엔티티에 채운다.
+ */
+public class ItemRepositoryCustomImpl implements ItemRepositoryCustom {
+
+    private static final String UPSERT_SQL = """
+            merge into item t
+            using (select cast(? as varchar(255)) as id, cast(? as timestamp(6)) as created_date) s
+            on t.id = s.id
+            when not matched then insert (id, created_date) values (s.id, s.created_date)""";
+    private static final String CREATED_DATE_SQL = "select id, created_date from item where id in (:ids)";
+
+    private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final int batchSize;
+
+    public ItemRepositoryCustomImpl(EntityManager em, JdbcTemplate jdbcTemplate,
+                                    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int batchSize) {
+        this.em = em;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional
+    public int upsertAll(Collection<Item> items) {
+        em.flush(); // 아직 insert 되지 않은 Item 이 있으면 먼저 반영해야 MERGE 가 그 행을 본다.
+
+        List<Item> rows = List.copyOf(items);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS); // timestamp(6) 과 같은 정밀도
+        Timestamp createdDate = Timestamp.valueOf(now);
+        int[][] results = jdbcTemplate.batchUpdate(UPSERT_SQL, rows, batchSize, (ps, item) -> {
+            ps.setString(1, item.getId());
+            ps.setTimestamp(2, createdDate);
+        });
+
+        // 배치 결과는 rows 순서와 같다. 1 이면 insert, 0 이면 이미 있던 행 (건수를 모르면 DB 에서 읽는다)
+        int inserted = 0;
+        int index = 0;
+        List<Item> matched = new ArrayList<>();
+        for (int[] batch : results) {
+            for (int count : batch) {
+                Item item = rows.get(index++);
+                if (count == 1) {
+                    item.markPersisted(now);
+                    inserted++;
+                } else {
+                    matched.add(item);
+                }
+            }
+        }
+        markPersistedFromDb(matched);
+        return inserted;
+    }
+
+    private void markPersistedFromDb(List<Item> items) {
+        for (int from = 0; from < items.size(); from += batchSize) {
+            List<Item> chunk = items.subList(from, Math.min(from + batchSize, items.size()));
+            Map<String, LocalDateTime> createdDates = new HashMap<>();
+            namedJdbcTemplate.query(CREATED_DATE_SQL, Map.of("ids", chunk.stream().map(Item::getId).toList()),
+                    rs -> {
+                        Timestamp createdDate = rs.getTimestamp("created_date");
+                        if (createdDate != null) {
+                            createdDates.put(rs.getString("id"), createdDate.toLocalDateTime());
+                        }
+                    });
+            chunk.forEach(item -> item.markPersisted(createdDates.get(item.getId())));
+        }
+    }
+}
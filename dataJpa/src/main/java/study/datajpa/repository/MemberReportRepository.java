@@ -0,0 +1,62 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 리포트(읽기 전용 대량 조회)용. StatelessSession 으로 조회해서 영속성 컨텍스트에 올리지 않는다.
+ * 스냅샷(변경 감지용 복사본)을 만들지 않고 커밋 시 flush 대상도 없다. 2차 캐시와 지연 로딩도 쓰지 않으므로
+ * 필요한 연관관계는 fetch join 으로 같이 읽는다. 반환한 엔티티는 준영속 상태라서 수정해도 반영되지 않는다.
+ * <p>
+ * 현재 트랜잭션의 커넥션을 그대로 쓰므로 라우팅을 켜면 복제본에서 읽는다.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class MemberReportRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final SessionFactory sessionFactory;
+
+    public MemberReportRepository(EntityManagerFactory emf) {
+        this.sessionFactory = emf.unwrap(SessionFactory.class);
+    }
+
+    public List<String> findUsernameList() {
+        return withStatelessSession(session -> session
+                .createQuery("select m.username from Member m", String.class)
+                .getResultList());
+    }
+
+    public List<MemberDto> findMemberDto() {
+        return withStatelessSession(session -> session
+                .createQuery("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m join m.team t", MemberDto.class)
+                .getResultList());
+    }
+
+    public List<Member> findAll() {
+        return withStatelessSession(session -> session
+                .createQuery("select m from Member m left join fetch m.team", Member.class)
+                .getResultList());
+    }
+
+    private <T> T withStatelessSession(Function<StatelessSession, T> work) {
+        return em.unwrap(Session.class).doReturningWork(connection -> {
+            try (StatelessSession session = sessionFactory.openStatelessSession(connection)) {
+                return work.apply(session);
+            }
+        });
+    }
+}
@@ -2,9 +2,13 @@ package study.datajpa.repository;
 
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
@@ -12,12 +16,15 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.MemberSummary;
 import study.datajpa.entity.Member;
 
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MemberRepository extends JpaRepository<Member,Long>, MemberRepositoryCustom {
 
@@ -25,6 +32,7 @@ public interface MemberRepository extends JpaRepository<Member,Long>, MemberRepo
 
     @Query(name = "Member.findByUsername") // 해당 어노테이션을 주석처리해도 잘 동작한다. Spring Data JPA의 관례를 따라
     // 해당 메서드의 이름을 가지고 있는 NamedQuery 가 있는지 먼저 찾아보기 때문.
+    // NamedQuery 에 org.hibernate.cacheable 힌트가 있어서 결과는 쿼리 캐시에 저장된다.
     List<Member> findByUsername(@Param("username") String username);
 
     @Query("select m from Member m where m.username = :username and m.age = :age")
@@ -36,6 +44,20 @@ public interface MemberRepository extends JpaRepository<Member,Long>, MemberRepo
     @Query("select new study.datajpa.dto.MemberDto(m.id , m.username, t.name) from Member m join m.team t")
     List<MemberDto> findMemberDto();
 
+    @Query("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m left join m.team t where m.username = :username")
+    List<MemberDto> findMemberDtoByUsername(@Param("username") String username);
+
+    @Query("select new study.datajpa.dto.MemberDto(m.id, m.username, t.name) from Member m join m.team t where t.name = :teamName")
+    List<MemberDto> findMemberDtoByTeamName(@Param("teamName") String teamName);
+
+    // 전체 내보내기용. DTO 로 바로 조회해서 영속성 컨텍스트에 엔티티가 쌓이지 않고,
+    // Hibernate 가 forward-only ScrollableResults 로 fetchSize 만큼씩 읽는다. 트랜잭션 안에서 사용하고 반드시 close 해야 한다.
+    @QueryHints(value = @QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("select new study.datajpa.dto.MemberDto(m.id , m.username, t.name) from Member m left join m.team t")
+    Stream<MemberDto> streamMemberDto();
+
+    // in 절은 in_clause_parameter_padding 으로 파라미터 수가 2의 거듭제곱으로 맞춰져 SQL 종류가 줄어든다.
+    // 수백 개가 넘을 수 있으면 나눠서 조회하는 findByUsernames 를 사용한다.
     @Query("select m from Member m where m.username in :names")
     List<Member> findByNames(@Param("names") Collection<String> names);
 
@@ -46,14 +68,34 @@ public interface MemberRepository extends JpaRepository<Member,Long>, MemberRepo
     Member findMemberByUsername(String username); //단건
     Optional<Member> findOptionalByUsername(String username); //단건 Optional
 
-    @Query(value = "select m from Member m left join m.team t",
-            countQuery = "select count(m) from Member m") // 카운트 쿼리를 따로 작성하는 방법
-    Page<Member> findByAge(int age, Pageable pageable);
+    @Query(value = "select m from Member m left join m.team t where m.age = :age",
+            countQuery = "select count(m) from Member m where m.age = :age") // 카운트 쿼리를 따로 작성하는 방법, 조건은 똑같이 걸어야 한다.
+    Page<Member> findByAge(@Param("age") int age, Pageable pageable);
 
     Slice<Member> findSliceByAge(int age, Pageable pageable);
 
+    // count 쿼리 없이 컨텐츠만 조회 (total 은 PageCounter 가 CountMode 에 따라 채운다)
+    @Query("select new study.datajpa.dto.MemberSummary(m.id, m.username, t.name) from Member m left join m.team t")
+    Slice<MemberSummary> findSliceProjectedBy(Pageable pageable);
+
+    @Query("select new study.datajpa.dto.MemberSummary(m.id, m.username, t.name) from Member m left join m.team t where m.age = :age")
+    Slice<MemberSummary> findSummarySliceByAge(@Param("age") int age, Pageable pageable);
+
+    long countByAge(int age);
+
+    // H2 테이블 통계의 추정 건수 (정확하지 않지만 count(*) 보다 훨씬 싸다)
+    @Query(value = "select row_count_estimate from information_schema.tables where table_schema = 'PUBLIC' and table_name = 'MEMBER'",
+            nativeQuery = true)
+    Long estimateCount();
+
+    // 키셋 페이징: offset 없이 마지막 (정렬 키, id) 이후부터 limit 만큼 가져오고, count 쿼리도 나가지 않는다.
+    Window<Member> findWindowBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @Transactional // 쓰기는 원본 DB
     @Modifying(clearAutomatically = true) // 업데이트를 위해 어노테이션 추가, 옵션은 해당 쿼리가 나가고 난 이후에 clear()를 자동으로 해줌
-    @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
+    // 벌크 연산은 Hibernate 가 member 2차 캐시 영역과 member 테이블 기준 쿼리 캐시를 같이 무효화한다.
+    // @Version 을 직접 올려야 이미 읽어간 쪽의 낙관적 락이 벌크 변경을 감지한다.
+    @Query("update Member m set m.age = m.age + 1, m.version = m.version + 1 where m.age >= :age")
     int bulkAgePlus(@Param("age") int age);
 
     @Query("select m from Member m left join fetch m.team t")
@@ -71,11 +113,14 @@ public interface MemberRepository extends JpaRepository<Member,Long>, MemberRepo
     //@EntityGraph("Member.all") //@NamedEntityGraph 사용
     List<Member> findEntityGraphByUsername(@Param("username") String username);
 
+    @Transactional(readOnly = true) // 읽기 전용 트랜잭션 -> 복제본 DB (이미 쓰기 트랜잭션 안이면 그 트랜잭션을 따른다)
     @QueryHints(value = @QueryHint(name = "org.hibernate.readOnly", value = "true"))
     Member findReadOnlyByUsername(@Param("username") String username);
 
     //select for update
+    @Transactional // 락은 원본 DB 에서 잡아야 한다.
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     //LockModeType.OPTIMISTIC 을 사용하거나 다른 방식으로 Lock 을 처리하는 방법이 더 좋다고 한다.
+    //-> Member 에 @Version 이 있으므로 MemberService.increaseAge 처럼 @OptimisticRetry 로 재시도하는 방식도 쓸 수 있다.
     List<Member> findLockByUsername(String username);
 }
@@ -2,10 +2,14 @@ package study.datajpa.repository;
 
 import study.datajpa.entity.Member;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface MemberRepositoryCustom {
 
     List<Member> findMemberCustom();
 
+    // 개수 제한 없는 username 조회. DB 파라미터 제한을 넘지 않게 나눠서 in 절로 조회한다.
+    List<Member> findByUsernames(Collection<String> usernames);
+
 }
@@ -4,11 +4,18 @@ import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import study.datajpa.entity.Member;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 @RequiredArgsConstructor
 public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
 
+    // in_clause_parameter_padding 은 2의 거듭제곱으로 채우므로 청크 크기도 2의 거듭제곱이어야 패딩으로 늘어나지 않는다.
+    // (오라클 in 절 1000개, SQL Server 파라미터 2100개 제한보다 작게)
+    static final int IN_CHUNK_SIZE = 512;
+
     private final EntityManager em;
 
     @Override
@@ -16,4 +23,16 @@ public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
         return em.createQuery("select m from Member m", Member.class)
                 .getResultList();
     }
+
+    @Override
+    public List<Member> findByUsernames(Collection<String> usernames) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(usernames));
+        List<Member> result = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += IN_CHUNK_SIZE) {
+            result.addAll(em.createQuery("select m from Member m where m.username in :usernames", Member.class)
+                    .setParameter("usernames", distinct.subList(from, Math.min(from + IN_CHUNK_SIZE, distinct.size())))
+                    .getResultList());
+        }
+        return result;
+    }
 }
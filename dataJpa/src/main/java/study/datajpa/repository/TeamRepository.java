@@ -1,7 +1,33 @@
 package study.datajpa.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.entity.Team;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface TeamRepository extends JpaRepository<Team, Long> {
+
+    // 컬렉션 fetch join 은 페이징과 같이 쓸 수 없으므로(메모리 페이징) 팀만 페이징하고 회원은 따로 in 절로 읽는다.
+    // count 없이 Slice(size + 1)로 읽어서 쿼리는 팀 + 회원 2번. 전체 건수가 필요하면 PageCounter(CountMode)로 채운다.
+    @Transactional(readOnly = true)
+    default Slice<Team> findSliceWithMembers(Pageable pageable) {
+        Slice<Team> slice = findSliceBy(pageable);
+        if (slice.hasContent()) {
+            fetchMembers(slice.getContent().stream().map(Team::getId).toList());
+        }
+        return slice;
+    }
+
+    @Query("select t from Team t")
+    Slice<Team> findSliceBy(Pageable pageable);
+
+    // 같은 영속성 컨텍스트의 팀 엔티티에 members 컬렉션이 채워진다.
+    @Query("select t from Team t left join fetch t.members where t.id in :ids")
+    List<Team> fetchMembers(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,59 @@
+package study.datajpa.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import study.datajpa.dto.MemberDto;
+
+import java.util.Arrays;
+
+public enum ExportFormat {
+
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), null) {
+        @Override
+        String line(MemberDto member, ObjectMapper objectMapper) throws JsonProcessingException {
+            return objectMapper.writeValueAsString(member);
+        }
+    },
+    CSV(MediaType.parseMediaType("text/csv"), "id,username,teamName") {
+        @Override
+        String line(MemberDto member, ObjectMapper objectMapper) {
+            return member.getId() + "," + escape(member.getUsername()) + "," + escape(member.getTeamName());
+        }
+    };
+
+    private final MediaType mediaType;
+    private final String header;
+
+    ExportFormat(MediaType mediaType, String header) {
+        this.mediaType = mediaType;
+        this.header = header;
+    }
+
+    public static ExportFormat from(String name) {
+        return Arrays.stream(values())
+                .filter(format -> format.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("지원하지 않는 형식입니다: " + name));
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    String header() {
+        return header;
+    }
+
+    abstract String line(MemberDto member, ObjectMapper objectMapper) throws JsonProcessingException;
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
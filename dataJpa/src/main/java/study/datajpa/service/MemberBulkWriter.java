@@ -0,0 +1,52 @@
+package study.datajpa.service;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.support.auditing.AuditClock;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 대량 저장 전용. save 를 한 건씩 호출하는 대신 하나의 트랜잭션에서 persist 하고,
+ * batchSize 마다 flush/clear 해서 JDBC 배치로 insert 를 보내고 영속성 컨텍스트가 커지지 않게 한다.
+ * 배치 하나는 같은 생성 시각을 공유한다 (AuditClock.pin).
+ */
+@Service
+public class MemberBulkWriter {
+
+    private final EntityManager em;
+    private final AuditClock auditClock;
+    private final int batchSize;
+
+    public MemberBulkWriter(EntityManager em, AuditClock auditClock,
+                            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int batchSize) {
+        this.em = em;
+        this.auditClock = auditClock;
+        this.batchSize = batchSize;
+    }
+
+    // 주의: 중간에 clear() 를 하므로 바깥 트랜잭션에 참여하면 호출한 쪽의 엔티티도 준영속 상태가 된다.
+    @Transactional
+    public long saveAll(Stream<Member> members) {
+        long count = 0;
+        Iterator<Member> iterator = members.iterator();
+        while (iterator.hasNext()) {
+            count += auditClock.pinned(() -> persistBatch(iterator));
+            em.flush();
+            em.clear();
+        }
+        return count;
+    }
+
+    private long persistBatch(Iterator<Member> iterator) {
+        long persisted = 0;
+        for (; persisted < batchSize && iterator.hasNext(); persisted++) {
+            em.persist(iterator.next());
+        }
+        return persisted;
+    }
+}
@@ -0,0 +1,46 @@
+package study.datajpa.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.dto.MemberSummary;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.support.concurrency.SingleFlight;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 같은 회원을 동시에 조회하는 요청(핫 키)을 조회 한 번으로 합친다.
+ * 대표 요청은 2차 캐시를 타는 findById / 쿼리 캐시를 타는 Member.findByUsername 네임드 쿼리로 조회하고,
+ * 여러 요청 스레드가 결과를 공유하므로 엔티티 대신 username / MemberSummary 로 바꿔서 넘긴다.
+ */
+@Service
+public class MemberLookupCoalescer {
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate readOnly;
+    private final SingleFlight<Long, Optional<String>> usernameById;
+    private final SingleFlight<String, List<MemberSummary>> byUsername;
+
+    public MemberLookupCoalescer(MemberRepository memberRepository, PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.memberRepository = memberRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.usernameById = new SingleFlight<>("member.byId", meterRegistry);
+        this.byUsername = new SingleFlight<>("member.byUsername", meterRegistry);
+    }
+
+    // 팀은 필요 없으므로 건드리지 않는다 (2차 캐시 miss 여도 쿼리 1번)
+    public Optional<String> findUsernameById(Long id) {
+        return usernameById.execute(id, () -> memberRepository.findById(id).map(Member::getUsername));
+    }
+
+    public List<MemberSummary> findByUsername(String username) {
+        return byUsername.execute(username, () -> readOnly.execute(status ->
+                memberRepository.findByUsername(username).stream().map(MemberSummary::from).toList()));
+    }
+}
@@ -0,0 +1,78 @@
+package study.datajpa.service;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 서로 독립적인 조회를 동시에 실행하기 위한 비동기 조회. 작업마다 가상 스레드에서 각자의 읽기 전용 트랜잭션으로 실행한다.
+ * 동시에 실행되는 작업 수는 concurrency-limit 으로 제한하고(넘으면 호출한 스레드가 대기), 커넥션 풀 크기를 넘지 않게 잡는다.
+ * <p>
+ * 실행기를 Executor 빈으로 등록하면 Boot 의 applicationTaskExecutor(StreamingResponseBody 등 MVC 비동기 처리용)가 빠지므로
+ * 빈으로 노출하지 않고 @Async 대신 CompletableFuture 로 직접 넘긴다.
+ */
+@Service
+public class MemberQueryService implements DisposableBean {
+
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate readOnly;
+    private final SimpleAsyncTaskExecutor executor;
+
+    public MemberQueryService(MemberRepository memberRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${member-query.concurrency-limit:10}") int concurrencyLimit) {
+        this.memberRepository = memberRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.executor = new SimpleAsyncTaskExecutor("member-query-");
+        this.executor.setVirtualThreads(true);
+        this.executor.setConcurrencyLimit(concurrencyLimit);
+    }
+
+    public CompletableFuture<List<MemberDto>> findByUsername(String username) {
+        return async(() -> memberRepository.findMemberDtoByUsername(username));
+    }
+
+    public CompletableFuture<List<MemberDto>> findByTeamName(String teamName) {
+        return async(() -> memberRepository.findMemberDtoByTeamName(teamName));
+    }
+
+    public CompletableFuture<List<MemberDto>> findMemberDto() {
+        return async(memberRepository::findMemberDto);
+    }
+
+    // username 별 조회를 동시에 실행하고 모두 끝나면 요청 순서대로 모은다.
+    public CompletableFuture<Map<String, List<MemberDto>>> findByUsernames(Collection<String> usernames) {
+        Map<String, CompletableFuture<List<MemberDto>>> futures = new LinkedHashMap<>();
+        for (String username : usernames) {
+            futures.computeIfAbsent(username, this::findByUsername);
+        }
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .thenApply(done -> {
+                    Map<String, List<MemberDto>> result = new LinkedHashMap<>();
+                    futures.forEach((username, future) -> result.put(username, future.join()));
+                    return result;
+                });
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(() -> readOnly.execute(status -> query.get()), executor);
+    }
+
+    @Override
+    public void destroy() {
+        executor.close();
+    }
+}
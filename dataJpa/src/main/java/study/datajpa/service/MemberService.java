@@ -0,0 +1,57 @@
+package study.datajpa.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.service.bulk.BulkMutation;
+import study.datajpa.service.bulk.BulkMutationEngine;
+import study.datajpa.service.bulk.BulkMutationResult;
+import study.datajpa.support.retry.OptimisticRetry;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class MemberService {
+
+    private final MemberRepository memberRepository;
+    private final BulkMutationEngine bulkMutationEngine;
+
+    /**
+     * 낙관적 락: 락 없이 읽고 커밋할 때 version 으로 충돌을 감지, 충돌하면 @OptimisticRetry 가 다시 실행한다.
+     * 충돌이 드문 경우 락 대기가 없어서 유리하다.
+     */
+    @OptimisticRetry
+    @Transactional
+    public int increaseAge(String username) {
+        return increaseAll(memberRepository.findByUsername(username));
+    }
+
+    /**
+     * 비관적 락: select for update 로 같은 username 의 쓰기를 직렬화한다. 충돌이 잦으면 재시도보다 나을 수 있다.
+     */
+    @Transactional
+    public int increaseAgeWithLock(String username) {
+        return increaseAll(memberRepository.findLockByUsername(username));
+    }
+
+    private int increaseAll(List<Member> members) {
+        members.forEach(Member::increaseAge);
+        return members.size();
+    }
+
+    /**
+     * MemberRepository.bulkAgePlus 와 같은 update 를 청크 단위로 실행한다.
+     * 대량 데이터에서 한 트랜잭션이 테이블을 오래 잠그거나 2차 캐시 리전 전체를 비우는 것을 피하고 싶을 때 사용.
+     */
+    public BulkMutationResult bulkAgePlus(int age, int chunkSize, int parallelism) {
+        return bulkMutationEngine.execute(BulkMutation.on(Member.class, "member", "member_id")
+                .set("age = age + 1, version = version + 1")
+                .where("age >= :age")
+                .param("age", age)
+                .chunkSize(chunkSize)
+                .parallelism(parallelism));
+    }
+}
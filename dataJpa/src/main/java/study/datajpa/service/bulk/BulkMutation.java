@@ -0,0 +1,60 @@
+package study.datajpa.service.bulk;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * id 범위로 나눠서 실행할 벌크 update 정의. set/where 는 네이티브 SQL 조각이고 이름 있는 파라미터(:age)를 쓸 수 있다.
+ * <pre>
+ * BulkMutation.on(Member.class, "member", "member_id")
+ *         .set("age = age + 1")
+ *         .where("age >= :age")
+ *         .param("age", 20)
+ *         .chunkSize(10_000)
+ *         .parallelism(4);
+ * </pre>
+ */
+public record BulkMutation(Class<?> entityType, String table, String idColumn, String set, String where,
+                           Map<String, Object> parameters, int chunkSize, int parallelism) {
+
+    public static BulkMutation on(Class<?> entityType, String table, String idColumn) {
+        return new BulkMutation(entityType, table, idColumn, null, "1 = 1", Map.of(), 10_000, 1);
+    }
+
+    public BulkMutation set(String set) {
+        return new BulkMutation(entityType, table, idColumn, set, where, parameters, chunkSize, parallelism);
+    }
+
+    public BulkMutation where(String where) {
+        return new BulkMutation(entityType, table, idColumn, set, where, parameters, chunkSize, parallelism);
+    }
+
+    public BulkMutation param(String name, Object value) {
+        Map<String, Object> copy = new HashMap<>(parameters);
+        copy.put(name, value);
+        return new BulkMutation(entityType, table, idColumn, set, where, Map.copyOf(copy), chunkSize, parallelism);
+    }
+
+    public BulkMutation chunkSize(int chunkSize) {
+        return new BulkMutation(entityType, table, idColumn, set, where, parameters, chunkSize, parallelism);
+    }
+
+    public BulkMutation parallelism(int parallelism) {
+        return new BulkMutation(entityType, table, idColumn, set, where, parameters, chunkSize, parallelism);
+    }
+
+    String selectIdsSql() {
+        return "select " + idColumn + " from " + table
+                + " where (" + where + ") and " + idColumn + " between :lo and :hi for update";
+    }
+
+    String updateSql() {
+        return "update " + table + " set " + set
+                + " where (" + where + ") and " + idColumn + " between :lo and :hi";
+    }
+
+    // 청크는 조건에 맞는 행의 id 범위만 나눈다 (테이블 전체 id 범위가 아니라)
+    String idRangeSql() {
+        return "select min(" + idColumn + "), max(" + idColumn + ") from " + table + " where (" + where + ")";
+    }
+}
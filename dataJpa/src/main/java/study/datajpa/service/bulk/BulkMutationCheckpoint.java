@@ -0,0 +1,42 @@
+package study.datajpa.service.bulk;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 완료된 청크(시작 id) 목록. 실패한 뒤 같은 체크포인트로 다시 실행하면 완료된 청크는 건너뛰므로
+ * age = age + 1 처럼 멱등하지 않은 update 도 두 번 적용되지 않는다.
+ */
+public class BulkMutationCheckpoint {
+
+    private final Set<Long> completedChunks = ConcurrentHashMap.newKeySet();
+    private final AtomicLong affectedRows = new AtomicLong();
+    private volatile Long origin; // 청크 경계의 기준. 재시작 사이에 최소 id 가 바뀌어도 경계가 어긋나지 않게 고정한다.
+
+    public boolean isCompleted(long chunkStart) {
+        return completedChunks.contains(chunkStart);
+    }
+
+    void complete(long chunkStart, int rows) {
+        completedChunks.add(chunkStart);
+        affectedRows.addAndGet(rows);
+    }
+
+    Long origin() {
+        return origin;
+    }
+
+    void origin(long origin) {
+        this.origin = origin;
+    }
+
+    public Set<Long> completedChunks() {
+        return Collections.unmodifiableSet(completedChunks);
+    }
+
+    public long affectedRows() {
+        return affectedRows.get();
+    }
+}
@@ -0,0 +1,187 @@
+package study.datajpa.service.bulk;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.query.NativeQuery;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * bulkAgePlus 같은 벌크 update 를 id 범위 청크로 나눠 청크마다 짧은 트랜잭션(REQUIRES_NEW)으로 실행한다.
+ * <ul>
+ *     <li>테이블 전체를 한 트랜잭션으로 잠그지 않고, 실패해도 완료된 청크는 커밋된 채로 남는다 (체크포인트로 재시작)</li>
+ *     <li>parallelism 만큼의 스레드로 청크를 병렬 실행한다</li>
+ *     <li>update 는 대상 엔티티 테이블에 동기화되어 그 테이블을 쓰는 캐시된 쿼리(쿼리 캐시)만 무효화된다. 다른 쿼리 리전은 그대로 둔다</li>
+ *     <li>변경된 id 는 2차 캐시에서 evict 하고, 호출한 쪽 영속성 컨텍스트에서도 해당 엔티티만 detach 한다</li>
+ * </ul>
+ * 주의: 청크는 다른 트랜잭션에서 실행되므로 같은 행을 잡고 있는 트랜잭션 안에서 호출하면 락 대기에 걸린다.
+ */
+@Slf4j
+@Component
+public class BulkMutationEngine {
+
+    private final EntityManager em;
+    private final EntityManagerFactory emf;
+    private final TransactionTemplate chunkTransaction;
+
+    public BulkMutationEngine(EntityManager em, EntityManagerFactory emf, PlatformTransactionManager transactionManager) {
+        this.em = em;
+        this.emf = emf;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public BulkMutationResult execute(BulkMutation mutation) {
+        return execute(mutation, new BulkMutationCheckpoint(),
+                progress -> log.info("bulk mutation {}: {}/{} chunks, {} rows", mutation.table(),
+                        progress.completedChunks(), progress.totalChunks(), progress.affectedRows()));
+    }
+
+    public BulkMutationResult execute(BulkMutation mutation, BulkMutationCheckpoint checkpoint,
+                                      Consumer<BulkMutationProgress> listener) {
+        Object[] range = chunkTransaction.execute(status -> {
+            Query query = em.createNativeQuery(mutation.idRangeSql());
+            mutation.parameters().forEach(query::setParameter);
+            return (Object[]) query.getSingleResult();
+        });
+        if (range == null || range[0] == null) {
+            return new BulkMutationResult(0, 0, checkpoint.affectedRows());
+        }
+        if (checkpoint.origin() == null) {
+            checkpoint.origin(((Number) range[0]).longValue());
+        }
+        long origin = checkpoint.origin();
+        long max = ((Number) range[1]).longValue();
+        int chunkSize = mutation.chunkSize();
+
+        List<Long> pending = new ArrayList<>();
+        int totalChunks = 0;
+        for (long start = origin; start <= max; start += chunkSize) {
+            totalChunks++;
+            if (!checkpoint.isCompleted(start)) {
+                pending.add(start);
+            }
+        }
+
+        EntityManager callerEm = callerEntityManager();
+        Set<Object> affectedIds = callerEm != null ? ConcurrentHashMap.newKeySet() : null;
+        AtomicInteger completed = new AtomicInteger(totalChunks - pending.size());
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        int total = totalChunks;
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, mutation.parallelism()),
+                Thread.ofPlatform().name("bulk-mutation-", 0).factory());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long start : pending) {
+                futures.add(executor.submit(() -> {
+                    if (failure.get() != null) {
+                        return; // 이미 실패한 청크가 있으면 남은 청크는 시작하지 않는다
+                    }
+                    try {
+                        Integer rows = chunkTransaction.execute(status ->
+                                executeChunk(mutation, start, start + chunkSize - 1, affectedIds));
+                        checkpoint.complete(start, rows);
+                        listener.accept(new BulkMutationProgress(completed.incrementAndGet(), total, checkpoint.affectedRows()));
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, new IllegalStateException(e));
+        } catch (ExecutionException e) {
+            failure.compareAndSet(null, new IllegalStateException(e.getCause()));
+        } finally {
+            executor.shutdownNow();
+            awaitTermination(executor);
+        }
+
+        if (callerEm != null && !affectedIds.isEmpty()) {
+            detach(callerEm, mutation.entityType(), affectedIds);
+        }
+        if (failure.get() != null) {
+            throw new BulkMutationException(checkpoint, failure.get());
+        }
+        return new BulkMutationResult(pending.size(), totalChunks, checkpoint.affectedRows());
+    }
+
+    private int executeChunk(BulkMutation mutation, long lo, long hi, Set<Object> affectedIds) {
+        // 먼저 대상 id 를 잠그면서 읽어야 update 와 evict 대상이 어긋나지 않는다
+        List<?> ids = bind(em.createNativeQuery(mutation.selectIdsSql()), mutation, lo, hi).getResultList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Query update = bind(em.createNativeQuery(mutation.updateSql()), mutation, lo, hi);
+        // 네이티브 update 는 동기화 대상이 없으면 모든 리전을 비운다. 대상 엔티티로 한정하면 그 테이블의 update 타임스탬프가 올라가서
+        // Member.findByUsername 같은 캐시된 쿼리가 오래된 결과를 돌려주지 않는다.
+        update.unwrap(NativeQuery.class).addSynchronizedEntityClass(mutation.entityType());
+        int rows = update.executeUpdate();
+
+        Cache cache = emf.getCache();
+        for (Object id : ids) {
+            cache.evict(mutation.entityType(), ((Number) id).longValue());
+        }
+        if (affectedIds != null) {
+            ids.forEach(id -> affectedIds.add(((Number) id).longValue()));
+        }
+        return rows;
+    }
+
+    private Query bind(Query query, BulkMutation mutation, long lo, long hi) {
+        mutation.parameters().forEach(query::setParameter);
+        return query.setParameter("lo", lo).setParameter("hi", hi);
+    }
+
+    // 호출한 스레드에 묶인 영속성 컨텍스트 (트랜잭션 또는 OSIV). 없으면 null
+    private EntityManager callerEntityManager() {
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(emf);
+        return holder != null ? holder.getEntityManager() : null;
+    }
+
+    // 영속성 컨텍스트에 있는 엔티티만 훑어서 변경된 것만 detach. clear() 처럼 다른 엔티티까지 날리지 않는다.
+    private void detach(EntityManager callerEm, Class<?> entityType, Set<Object> affectedIds) {
+        Session session = callerEm.unwrap(Session.class);
+        for (Object key : List.copyOf(session.getStatistics().getEntityKeys())) {
+            EntityKey entityKey = (EntityKey) key;
+            if (entityKey.getEntityName().equals(entityType.getName())
+                    && affectedIds.contains(entityKey.getIdentifier())) {
+                session.detach(session.get(entityType, entityKey.getIdentifier()));
+            }
+        }
+    }
+
+    private void awaitTermination(ExecutorService executor) {
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package study.datajpa.service.bulk;
+
+import java.io.Serial;
+
+/**
+ * 청크 실행 중 실패. getCheckpoint() 를 그대로 다시 넘기면 실패한 청크부터 이어서 실행한다.
+ */
+public class BulkMutationException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final transient BulkMutationCheckpoint checkpoint;
+
+    public BulkMutationException(BulkMutationCheckpoint checkpoint, Throwable cause) {
+        super("벌크 변경이 중간에 실패했습니다. 완료된 청크 수: " + checkpoint.completedChunks().size(), cause);
+        this.checkpoint = checkpoint;
+    }
+
+    public BulkMutationCheckpoint getCheckpoint() {
+        return checkpoint;
+    }
+}
@@ -0,0 +1,4 @@
+package study.datajpa.service.bulk;
+
+public record BulkMutationProgress(int completedChunks, int totalChunks, long affectedRows) {
+}
@@ -0,0 +1,8 @@
+package study.datajpa.service.bulk;
+
+/**
+ * @param executedChunks 이번 실행에서 처리한 청크 수 (체크포인트로 건너뛴 청크 제외)
+ * @param affectedRows   체크포인트 기준 누적 변경 건수
+ */
+public record BulkMutationResult(int executedChunks, int totalChunks, long affectedRows) {
+}
@@ -0,0 +1,37 @@
+package study.datajpa.service.seed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import study.datajpa.entity.Member;
+import study.datajpa.service.MemberBulkWriter;
+
+import java.util.stream.IntStream;
+
+/**
+ * 예전에는 MemberController 의 @PostConstruct 에서 저장해서 컨텍스트 refresh 가 끝날 때까지 기다려야 했다.
+ * ApplicationRunner 로 옮겨서 빈 생성과 분리하고, async 면 가상 스레드에서 저장한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MemberSeedRunner implements ApplicationRunner {
+
+    private final MemberBulkWriter memberBulkWriter;
+    private final SeedProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (properties.async()) {
+            Thread.ofVirtual().name("member-seed").start(this::seed);
+        } else {
+            seed();
+        }
+    }
+
+    private void seed() {
+        long start = System.nanoTime();
+        long count = memberBulkWriter.saveAll(IntStream.range(0, properties.members()).mapToObj(i -> new Member("member" + i, i)));
+        log.info("seeded {} members in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+    }
+}
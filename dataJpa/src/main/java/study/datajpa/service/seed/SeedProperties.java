@@ -0,0 +1,15 @@
+package study.datajpa.service.seed;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled 시작할 때 샘플 회원을 저장한다. (prod 에서는 끈다)
+ * @param members 저장할 회원 수
+ * @param async   별도 스레드에서 저장해서 시작(ready)을 기다리게 하지 않는다. 끝나기 전 요청은 데이터가 덜 보일 수 있다.
+ */
+@ConfigurationProperties("seed")
+public record SeedProperties(@DefaultValue("true") boolean enabled,
+                             @DefaultValue("100") int members,
+                             @DefaultValue("false") boolean async) {
+}
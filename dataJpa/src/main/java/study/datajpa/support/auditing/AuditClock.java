@@ -0,0 +1,67 @@
+package study.datajpa.support.auditing;
+
+import org.springframework.data.auditing.DateTimeProvider;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 감사(auditing) 시각. 평소에는 현재 시각을 주고, pin() 한 구간 안에서는 같은 시각을 재사용한다.
+ * 대량 저장에서 엔티티마다 시계를 읽지 않고 배치 전체가 하나의 시각을 공유하게 할 때 사용한다.
+ * <pre>
+ * auditClock.pinned(() -> ... persist ...);
+ * </pre>
+ */
+public class AuditClock implements DateTimeProvider {
+
+    private static final ThreadLocal<LocalDateTime> PINNED = new ThreadLocal<>();
+
+    private final Clock clock;
+
+    public AuditClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    public LocalDateTime now() {
+        LocalDateTime pinned = PINNED.get();
+        return pinned != null ? pinned : LocalDateTime.now(clock);
+    }
+
+    @Override
+    public Optional<TemporalAccessor> getNow() {
+        return Optional.of(now());
+    }
+
+    // 이미 고정된 구간 안에서 다시 호출하면 바깥 시각을 그대로 쓴다.
+    public Pin pin() {
+        LocalDateTime pinned = PINNED.get();
+        if (pinned != null) {
+            return new Pin(pinned, false);
+        }
+        pinned = LocalDateTime.now(clock);
+        PINNED.set(pinned);
+        return new Pin(pinned, true);
+    }
+
+    public <T> T pinned(Supplier<T> work) {
+        Pin pin = pin();
+        try {
+            return work.get();
+        } finally {
+            pin.close();
+        }
+    }
+
+    // owner 인 Pin 만 close() 할 때 고정을 푼다.
+    public record Pin(LocalDateTime time, boolean owner) implements AutoCloseable {
+        @Override
+        public void close() {
+            if (owner) {
+                PINNED.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package study.datajpa.support.auditing;
+
+public enum AuditingMode {
+    SPRING, // Spring Data AuditingHandler (어노테이션을 리플렉션으로 찾아 값을 넣는다)
+    FAST,   // 엔티티 메서드로 직접 값을 넣는다 (대량 insert 용)
+    OFF     // 감사 필드를 채우지 않는다 (벤치마크 비교용)
+}
@@ -0,0 +1,39 @@
+package study.datajpa.support.auditing;
+
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 요청마다 한 번만 작성자를 구하고 같은 요청의 insert/update 에는 요청 속성에 캐시한 값을 쓴다.
+ * 요청 밖(배치, 테스트)에서는 systemAuditor 를 쓴다.
+ */
+public class RequestScopedAuditorAware implements AuditorAware<String> {
+
+    private static final String ATTRIBUTE = RequestScopedAuditorAware.class.getName() + ".auditor";
+
+    private final Supplier<String> resolver;
+    private final Optional<String> systemAuditor;
+
+    public RequestScopedAuditorAware(Supplier<String> resolver, String systemAuditor) {
+        this.resolver = resolver;
+        this.systemAuditor = Optional.of(systemAuditor);
+    }
+
+    @Override
+    public Optional<String> getCurrentAuditor() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return systemAuditor;
+        }
+        String auditor = (String) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (auditor == null) {
+            auditor = resolver.get();
+            attributes.setAttribute(ATTRIBUTE, auditor, RequestAttributes.SCOPE_REQUEST);
+        }
+        return Optional.of(auditor);
+    }
+}
@@ -0,0 +1,17 @@
+package study.datajpa.support.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param permits        동시에 DB 를 쓰는 요청 수. 비워두면 Hikari maximum-pool-size 를 따른다.
+ * @param acquireTimeout 이 시간 안에 차례가 오지 않으면 503 으로 응답한다.
+ */
+@ConfigurationProperties("jdbc-limiter")
+public record JdbcConcurrencyLimitProperties(
+        boolean enabled,
+        Integer permits,
+        @DefaultValue("30s") Duration acquireTimeout) {
+}
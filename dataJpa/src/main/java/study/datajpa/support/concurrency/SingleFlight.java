@@ -0,0 +1,67 @@
+package study.datajpa.support.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키로 동시에 들어온 호출을 하나로 합친다. 먼저 온 호출(leader)만 loader 를 실행하고,
+ * 실행 중에 들어온 호출(shared)은 같은 결과(또는 예외)를 기다려서 받는다.
+ * 결과는 보관하지 않으므로 캐시가 아니다. 실행이 끝나면 다음 호출은 다시 loader 를 실행한다.
+ * <p>
+ * 결과 객체를 여러 스레드가 같이 쓰므로 엔티티가 아닌 불변 값(record 등)을 반환해야 한다.
+ * 지표: single.flight.calls{name, result=leader|shared}. shared / 전체 가 합쳐진 비율이다.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter shared;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.leaders = Counter.builder("single.flight.calls").tag("name", name).tag("result", "leader")
+                .description("Calls that executed the loader").register(meterRegistry);
+        this.shared = Counter.builder("single.flight.calls").tag("name", name).tag("result", "shared")
+                .description("Calls that joined an in-flight loader").register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            shared.increment();
+            return join(existing);
+        }
+
+        leaders.increment();
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
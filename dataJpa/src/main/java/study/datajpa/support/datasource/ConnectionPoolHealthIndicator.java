@@ -0,0 +1,52 @@
+package study.datajpa.support.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /actuator/health 의 connectionPool. 풀마다 active/idle/pending/total/max 를 보여주고
+ * 커넥션을 기다리는 스레드가 기준 이상인 풀이 있으면 SATURATED 로 보고한다 (HTTP 상태는 200 유지, 재시작 대상이 아니다).
+ * 시계열은 Boot 가 올리는 hikaricp.connections.active/idle/pending/acquire 지표로 본다.
+ */
+public class ConnectionPoolHealthIndicator extends AbstractHealthIndicator {
+
+    public static final Status SATURATED = new Status("SATURATED", "Threads are waiting for a connection");
+
+    private final List<HikariDataSource> pools;
+    private final ConnectionPoolProperties properties;
+
+    public ConnectionPoolHealthIndicator(List<HikariDataSource> pools, ConnectionPoolProperties properties) {
+        super("Connection pool health check failed");
+        this.pools = pools;
+        this.properties = properties;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        boolean saturated = false;
+        for (HikariDataSource pool : pools) {
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            if (mxBean == null) {
+                continue; // 아직 첫 커넥션을 요청하지 않아 풀이 시작되지 않았다
+            }
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("active", mxBean.getActiveConnections());
+            details.put("idle", mxBean.getIdleConnections());
+            details.put("pending", mxBean.getThreadsAwaitingConnection());
+            details.put("total", mxBean.getTotalConnections());
+            details.put("max", pool.getMaximumPoolSize());
+            details.put("leakDetectionThresholdMs", pool.getLeakDetectionThreshold());
+            builder.withDetail(pool.getPoolName(), details);
+
+            saturated |= mxBean.getThreadsAwaitingConnection() >= properties.saturationPendingThreshold();
+        }
+        builder.status(saturated ? SATURATED : Status.UP);
+    }
+}
@@ -0,0 +1,13 @@
+package study.datajpa.support.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 풀 크기/타임아웃/누수 감지는 spring.datasource.hikari.* 로 설정하고, 여기에는 포화 판단 기준만 둔다.
+ *
+ * @param saturationPendingThreshold 커넥션을 기다리는 스레드가 이 수 이상이면 health 상태를 SATURATED 로 보고한다.
+ */
+@ConfigurationProperties("connection-pool")
+public record ConnectionPoolProperties(@DefaultValue("1") int saturationPendingThreshold) {
+}
@@ -0,0 +1,5 @@
+package study.datajpa.support.datasource;
+
+public enum DataSourceType {
+    PRIMARY, REPLICA
+}
@@ -0,0 +1,18 @@
+package study.datajpa.support.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * @Transactional(readOnly = true) 안이면 복제본, 그 외(쓰기 트랜잭션, 트랜잭션 없음)는 원본으로 보낸다.
+ * 트랜잭션 동기화 정보는 커넥션을 얻은 뒤에 설정되므로 반드시 LazyConnectionDataSourceProxy 로 감싸서 사용해야 한다.
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? DataSourceType.REPLICA
+                : DataSourceType.PRIMARY;
+    }
+}
@@ -0,0 +1,22 @@
+package study.datajpa.support.metrics;
+
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * 스레드별로 영속성 컨텍스트에 로딩된 엔티티 수를 누적한다 (DB, 2차 캐시 모두 포함).
+ * QueryCounter 와 마찬가지로 구간의 개수는 시작 시점 값과의 차이로 계산한다.
+ */
+public class EntityLoadCounter implements PostLoadEventListener {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        COUNT.get()[0]++;
+    }
+
+    public static long current() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,112 @@
+package study.datajpa.support.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.data.repository.Repository;
+import org.springframework.util.ClassUtils;
+import study.datajpa.support.warmup.QueryWarmupContext;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 리포지토리 메서드별 지표. 태그는 repository(인터페이스/클래스 이름), method.
+ * <ul>
+ *     <li>repository.invocations: 실행 시간 (히스토그램 포함, exception 태그)</li>
+ *     <li>repository.rows: 반환한 행 수 (컬렉션/Page/Slice/Window/Optional/단건)</li>
+ *     <li>repository.entities.loaded: 영속성 컨텍스트에 로딩된 엔티티 수. rows 보다 크면 연관 엔티티를 같이 읽은 것</li>
+ * </ul>
+ * Spring Data 리포지토리와 직접 만든 @Repository 클래스(MemberJpaRepository 등) 모두 대상이다. 시작할 때 쿼리 워밍업 호출은 제외한다.
+ */
+@Aspect
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))" +
+            " || (within(study.datajpa..*) && @within(org.springframework.stereotype.Repository))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (QueryWarmupContext.isActive()) {
+            return joinPoint.proceed(); // 자리표시 인자로 실행하는 워밍업 호출은 지표에 넣지 않는다
+        }
+        Tags tags = Tags.of("repository", repositoryName(joinPoint.getTarget()),
+                "method", joinPoint.getSignature().getName());
+        long loadedBefore = EntityLoadCounter.current();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            Object result = joinPoint.proceed();
+            long rows = rows(result);
+            if (rows >= 0) {
+                DistributionSummary.builder("repository.rows")
+                        .description("Rows returned per repository invocation")
+                        .tags(tags)
+                        .register(meterRegistry)
+                        .record(rows);
+            }
+            return result;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("repository.invocations")
+                    .description("Repository method execution time")
+                    .tags(tags)
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            DistributionSummary.builder("repository.entities.loaded")
+                    .description("Entities loaded into the persistence context per repository invocation")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(EntityLoadCounter.current() - loadedBefore);
+        }
+    }
+
+    // Spring Data 리포지토리는 프록시라서 구현한 우리 인터페이스 이름(MemberRepository)을 찾는다.
+    private String repositoryName(Object target) {
+        return repositoryNames.computeIfAbsent(target.getClass(), type -> {
+            for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+                if (Repository.class.isAssignableFrom(candidate) && candidate.getName().startsWith("study.datajpa")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return ClassUtils.getUserClass(type).getSimpleName();
+        });
+    }
+
+    // 행 수를 알 수 없는 반환 타입(Stream, count 같은 숫자, void)은 -1
+    static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Window<?> window) {
+            return window.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number || result instanceof Boolean || result instanceof AutoCloseable) {
+            return -1;
+        }
+        return 1;
+    }
+}
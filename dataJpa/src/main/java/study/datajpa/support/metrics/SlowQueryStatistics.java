@@ -0,0 +1,38 @@
+package study.datajpa.support.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.internal.StatisticsImpl;
+
+import java.io.Serial;
+
+/**
+ * Hibernate 통계에 슬로우 쿼리 기록을 추가한다. 쿼리(JPQL/네이티브) 실행 시간이 threshold 이상이면
+ * hibernate.query.slow 카운터를 올리고 key=value 형태로 로그를 남긴다.
+ * generate_statistics 가 꺼져 있으면 Hibernate 가 호출하지 않으므로 비용이 없다.
+ */
+@Slf4j
+public class SlowQueryStatistics extends StatisticsImpl {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final long thresholdMillis;
+    private final transient Counter slowQueries;
+
+    public SlowQueryStatistics(SessionFactoryImplementor sessionFactory, long thresholdMillis, Counter slowQueries) {
+        super(sessionFactory);
+        this.thresholdMillis = thresholdMillis;
+        this.slowQueries = slowQueries;
+    }
+
+    @Override
+    public void queryExecuted(String hql, int rows, long time) {
+        super.queryExecuted(hql, rows, time);
+        if (time >= thresholdMillis) {
+            slowQueries.increment();
+            log.warn("slow_query time_ms={} rows={} threshold_ms={} query=\"{}\"", time, rows, thresholdMillis, hql);
+        }
+    }
+}
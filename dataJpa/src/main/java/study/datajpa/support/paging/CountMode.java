@@ -0,0 +1,27 @@
+package study.datajpa.support.paging;
+
+import java.util.Arrays;
+
+/**
+ * Page 의 totalElements 를 구하는 방법.
+ */
+public enum CountMode {
+
+    EXACT("exact"),                 // 매번 count 쿼리
+    CACHED("cached"),               // 조건별 count 결과를 TTL 동안 재사용
+    ESTIMATED("estimated"),         // 테이블 통계의 추정치 사용
+    SKIP_WHEN_PARTIAL("skip");      // 마지막 페이지처럼 컨텐츠만으로 알 수 있으면 count 생략, 아니면 count 쿼리
+
+    private final String parameter;
+
+    CountMode(String parameter) {
+        this.parameter = parameter;
+    }
+
+    public static CountMode from(String parameter) {
+        return Arrays.stream(values())
+                .filter(mode -> mode.parameter.equalsIgnoreCase(parameter))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("지원하지 않는 count 방식입니다: " + parameter));
+    }
+}
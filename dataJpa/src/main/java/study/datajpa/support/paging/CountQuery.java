@@ -0,0 +1,20 @@
+package study.datajpa.support.paging;
+
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * @param key      CACHED 모드에서 캐시 키. 검색 조건이 다르면 키도 달라야 한다.
+ * @param exact    정확한 count 쿼리
+ * @param estimate 추정치(없으면 null). null 을 반환하면 정확한 count 로 대신한다.
+ */
+public record CountQuery(String key, LongSupplier exact, Supplier<Long> estimate) {
+
+    public static CountQuery of(String key, LongSupplier exact) {
+        return new CountQuery(key, exact, null);
+    }
+
+    public CountQuery estimatedBy(Supplier<Long> estimate) {
+        return new CountQuery(key, exact, estimate);
+    }
+}
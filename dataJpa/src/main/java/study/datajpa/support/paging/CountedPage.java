@@ -0,0 +1,28 @@
+package study.datajpa.support.paging;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.io.Serial;
+import java.util.List;
+
+/**
+ * totalElements 가 정확한 값인지(totalExact) 함께 내려주는 Page.
+ * 캐시나 추정치를 쓴 경우 false 이고, 이때 totalElements 는 최소한 지금까지 본 건수 이상이다.
+ */
+public class CountedPage<T> extends PageImpl<T> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final boolean totalExact;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, boolean totalExact) {
+        super(content, pageable, total);
+        this.totalExact = totalExact;
+    }
+
+    public boolean isTotalExact() {
+        return totalExact;
+    }
+}
@@ -0,0 +1,71 @@
+package study.datajpa.support.paging;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 컨텐츠는 Slice(size + 1 조회)로 가져오고, total 은 CountMode 에 따라 채워서 Page 로 만든다.
+ */
+@Component
+public class PageCounter {
+
+    // 키에 요청 값(나이 등)이 들어가므로 크기를 제한한다.
+    private final Cache<String, Long> cache;
+
+    public PageCounter(@Value("${paging.count-cache-ttl:30s}") Duration ttl,
+                       @Value("${paging.count-cache-max-size:1000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public <T> CountedPage<T> toPage(Slice<T> slice, CountMode mode, CountQuery countQuery) {
+        Pageable pageable = slice.getPageable();
+        List<T> content = slice.getContent();
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+
+        if (mode == CountMode.EXACT) {
+            return new CountedPage<>(content, pageable, countQuery.exact().getAsLong(), true);
+        }
+
+        // 다음 페이지가 없으면 컨텐츠만으로 total 을 정확히 알 수 있다. (빈 페이지는 첫 페이지일 때만)
+        if (!slice.hasNext() && (!content.isEmpty() || offset == 0)) {
+            return new CountedPage<>(content, pageable, offset + content.size(), true);
+        }
+
+        // 최소한 지금까지 본 건수 + (다음이 있으면 1) 이상이어야 페이지 정보가 모순되지 않는다.
+        long lowerBound = offset + content.size() + (slice.hasNext() ? 1 : 0);
+        return switch (mode) {
+            case CACHED -> cached(content, pageable, countQuery, lowerBound);
+            case ESTIMATED -> estimated(content, pageable, countQuery, lowerBound);
+            default -> new CountedPage<>(content, pageable, countQuery.exact().getAsLong(), true);
+        };
+    }
+
+    private <T> CountedPage<T> cached(List<T> content, Pageable pageable, CountQuery countQuery, long lowerBound) {
+        Long cached = cache.getIfPresent(countQuery.key());
+        if (cached != null) {
+            return new CountedPage<>(content, pageable, Math.max(cached, lowerBound), false);
+        }
+
+        long total = countQuery.exact().getAsLong();
+        cache.put(countQuery.key(), total);
+        return new CountedPage<>(content, pageable, total, true);
+    }
+
+    private <T> CountedPage<T> estimated(List<T> content, Pageable pageable, CountQuery countQuery, long lowerBound) {
+        Long estimate = countQuery.estimate() == null ? null : countQuery.estimate().get();
+        if (estimate == null) {
+            return new CountedPage<>(content, pageable, countQuery.exact().getAsLong(), true);
+        }
+        return new CountedPage<>(content, pageable, Math.max(estimate, lowerBound), false);
+    }
+}
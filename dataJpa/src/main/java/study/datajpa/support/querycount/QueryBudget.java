@@ -0,0 +1,19 @@
+package study.datajpa.support.querycount;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 핸들러(또는 @Transactional 메서드) 한 번 실행에 허용되는 최대 SQL 수.
+ * 넘으면 query-budget.mode 에 따라 경고 로그를 남기거나 예외를 던진다.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
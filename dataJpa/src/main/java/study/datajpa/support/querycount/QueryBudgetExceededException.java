@@ -0,0 +1,13 @@
+package study.datajpa.support.querycount;
+
+import java.io.Serial;
+
+public class QueryBudgetExceededException extends IllegalStateException {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,36 @@
+package study.datajpa.support.querycount;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+/**
+ * HTTP 요청 단위 SQL 수 측정. @ResponseBody 는 핸들러 안에서 직렬화까지 끝나므로
+ * OSIV 로 직렬화 중에 발생한 지연 로딩도 postHandle 시점에 모두 포함된다.
+ */
+@RequiredArgsConstructor
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    private static final String START = QueryBudgetInterceptor.class.getName() + ".START";
+
+    private final QueryCountRecorder recorder;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START, QueryCounter.current());
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !(request.getAttribute(START) instanceof Long start)) {
+            return;
+        }
+        String name = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        recorder.record("request", name, QueryCounter.current() - start,
+                handlerMethod.getMethodAnnotation(QueryBudget.class));
+    }
+}
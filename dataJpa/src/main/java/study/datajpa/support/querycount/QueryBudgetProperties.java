@@ -0,0 +1,13 @@
+package study.datajpa.support.querycount;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("query-budget")
+public record QueryBudgetProperties(@DefaultValue("warn") Mode mode) {
+
+    public enum Mode {
+        WARN, // 로그만 남긴다 (운영)
+        FAIL  // QueryBudgetExceededException 을 던진다 (테스트)
+    }
+}
@@ -0,0 +1,20 @@
+package study.datajpa.support.querycount;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.io.Serial;
+
+/**
+ * Hibernate 가 준비하는 모든 SQL 을 센다. SQL 자체는 바꾸지 않는다.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.increment();
+        return sql;
+    }
+}
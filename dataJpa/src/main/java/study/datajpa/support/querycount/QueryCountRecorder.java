@@ -0,0 +1,37 @@
+package study.datajpa.support.querycount;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 측정한 SQL 수를 sql.statements 지표로 남기고, @QueryBudget 이 있으면 예산을 검사한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class QueryCountRecorder {
+
+    private final MeterRegistry meterRegistry;
+    private final QueryBudgetProperties properties;
+
+    public void record(String scope, String name, long statements, QueryBudget budget) {
+        DistributionSummary.builder("sql.statements")
+                .description("SQL statements executed per " + scope)
+                .tag("scope", scope)
+                .tag("name", name)
+                .register(meterRegistry)
+                .record(statements);
+
+        if (budget == null || statements <= budget.value()) {
+            return;
+        }
+
+        String message = "SQL 실행 수가 예산을 초과했습니다. %s=%s, budget=%d, actual=%d (N+1 을 확인하세요)"
+                .formatted(scope, name, budget.value(), statements);
+        if (properties.mode() == QueryBudgetProperties.Mode.FAIL) {
+            throw new QueryBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+}
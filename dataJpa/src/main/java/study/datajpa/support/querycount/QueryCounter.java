@@ -0,0 +1,21 @@
+package study.datajpa.support.querycount;
+
+/**
+ * 스레드별로 실행된 SQL 수를 누적한다. 값은 계속 증가만 하고,
+ * 요청/트랜잭션 단위의 개수는 시작 시점 값과의 차이로 계산한다.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private QueryCounter() {
+    }
+
+    static void increment() {
+        COUNT.get()[0]++;
+    }
+
+    public static long current() {
+        return COUNT.get()[0];
+    }
+}
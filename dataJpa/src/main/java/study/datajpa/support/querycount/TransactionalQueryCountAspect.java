@@ -0,0 +1,48 @@
+package study.datajpa.support.querycount;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * 우리 코드의 @Transactional 메서드(클래스 레벨 포함) 단위 SQL 수 측정.
+ * 트랜잭션 어드바이저(LOWEST_PRECEDENCE)와 재시도 애스펙트보다 바깥에서 동작해야 커밋 시 flush 되는 SQL과 재시도분까지 센다.
+ */
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+@RequiredArgsConstructor
+public class TransactionalQueryCountAspect {
+
+    private final QueryCountRecorder recorder;
+
+    @Around("within(study.datajpa..*) && (@annotation(org.springframework.transaction.annotation.Transactional)" +
+            " || @within(org.springframework.transaction.annotation.Transactional))")
+    public Object count(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = QueryCounter.current();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            // 예외로 끝난 트랜잭션도 기록하되, 예산 초과 예외가 원래 예외를 가리지 않게 한다
+            try {
+                record(joinPoint, start);
+            } catch (QueryBudgetExceededException budget) {
+                e.addSuppressed(budget);
+            }
+            throw e;
+        }
+        record(joinPoint, start);
+        return result;
+    }
+
+    private void record(ProceedingJoinPoint joinPoint, long start) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String name = signature.getDeclaringType().getSimpleName() + "." + signature.getName();
+        recorder.record("transaction", name, QueryCounter.current() - start,
+                signature.getMethod().getAnnotation(QueryBudget.class));
+    }
+}
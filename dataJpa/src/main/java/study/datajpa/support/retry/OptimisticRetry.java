@@ -0,0 +1,21 @@
+package study.datajpa.support.retry;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 낙관적 락 충돌(OptimisticLockException)이 나면 트랜잭션을 처음부터 다시 실행한다.
+ * 재시도는 트랜잭션 바깥에서 해야 하므로 @Transactional 과 같이 붙여도 이 어노테이션이 먼저 적용된다.
+ * 백오프/지터 기본값은 optimistic-retry.* 설정.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OptimisticRetry {
+
+    /**
+     * 최초 실행을 포함한 최대 시도 횟수. 0 이하면 optimistic-retry.max-attempts 를 쓴다.
+     */
+    int maxAttempts() default 0;
+}
@@ -0,0 +1,50 @@
+package study.datajpa.support.retry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 트랜잭션 어드바이저(LOWEST_PRECEDENCE)보다 바깥에서 동작해야 재시도마다 새 트랜잭션과 새 영속성 컨텍스트로 다시 읽는다.
+ */
+@Slf4j
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+public class OptimisticRetryAspect {
+
+    private final OptimisticRetryProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(retry)")
+    public Object retry(ProceedingJoinPoint joinPoint, OptimisticRetry retry) throws Throwable {
+        int maxAttempts = retry.maxAttempts() > 0 ? retry.maxAttempts() : properties.maxAttempts();
+        String name = ((MethodSignature) joinPoint.getSignature()).getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    meterRegistry.counter("optimistic.retry", "name", name, "outcome", "exhausted").increment();
+                    throw e;
+                }
+                meterRegistry.counter("optimistic.retry", "name", name, "outcome", "retried").increment();
+                long backoff = properties.backoffMillis(attempt, ThreadLocalRandom.current().nextDouble());
+                log.debug("낙관적 락 충돌 {} ({}/{}), {}ms 후 재시도", name, attempt, maxAttempts, backoff);
+                Thread.sleep(backoff);
+            }
+        }
+    }
+}
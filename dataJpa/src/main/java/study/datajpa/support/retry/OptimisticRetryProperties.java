@@ -0,0 +1,23 @@
+package study.datajpa.support.retry;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param initialBackoff 첫 재시도 전 대기. 이후 시도마다 두 배씩 늘어난다.
+ * @param maxBackoff     대기 시간 상한
+ * @param jitter         0~1. 대기 시간을 (1 - jitter) ~ 1 배 사이에서 무작위로 줄여서 충돌한 스레드들이 동시에 재시도하지 않게 한다.
+ */
+@ConfigurationProperties("optimistic-retry")
+public record OptimisticRetryProperties(@DefaultValue("5") int maxAttempts,
+                                        @DefaultValue("10ms") Duration initialBackoff,
+                                        @DefaultValue("200ms") Duration maxBackoff,
+                                        @DefaultValue("0.5") double jitter) {
+
+    long backoffMillis(int attempt, double random) {
+        long base = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        return Math.round(base * (1 - jitter * random));
+    }
+}
@@ -0,0 +1,25 @@
+package study.datajpa.support.warmup;
+
+/**
+ * 지금 스레드가 쿼리 워밍업 중인지. 워밍업 호출은 자리표시 인자로 실행되므로 지표 같은 곳에서 건너뛸 때 쓴다.
+ */
+public final class QueryWarmupContext {
+
+    private static final ThreadLocal<Boolean> ACTIVE = ThreadLocal.withInitial(() -> false);
+
+    private QueryWarmupContext() {
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get();
+    }
+
+    static void run(Runnable warmup) {
+        ACTIVE.set(true);
+        try {
+            warmup.run();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+}
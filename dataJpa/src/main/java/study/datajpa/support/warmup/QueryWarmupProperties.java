@@ -0,0 +1,13 @@
+package study.datajpa.support.warmup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param enabled     시작할 때 리포지토리 쿼리 메서드를 한 번씩 실행해서 쿼리 플랜을 미리 만든다.
+ * @param failOnError 실행에 실패한 쿼리가 있으면 애플리케이션 시작을 실패시킨다. false 면 경고 로그만 남긴다.
+ */
+@ConfigurationProperties("query-warmup")
+public record QueryWarmupProperties(@DefaultValue("true") boolean enabled,
+                                    @DefaultValue("false") boolean failOnError) {
+}
@@ -0,0 +1,151 @@
+package study.datajpa.support.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 모든 리포지토리 쿼리 메서드(메서드 이름 쿼리, @Query, 네임드 쿼리, @EntityGraph)를 빈 값으로 한 번씩 실행한다.
+ * 첫 요청이 치르던 JPQL 파싱, SQL 변환(criteria.plan_cache_enabled 로 메서드 이름 쿼리도 캐시), PreparedStatement 준비 비용을
+ * 시작 단계로 옮긴다. ApplicationRunner 는 ApplicationReadyEvent 전에 실행되므로 끝나기 전에는 readiness 가 ACCEPTING_TRAFFIC 이 되지 않는다.
+ * <p>
+ * 쿼리마다 롤백하는 쓰기 트랜잭션에서 실행한다 (복제본 라우팅을 켜도 원본에서 실행). @Modifying 쿼리는 실행하지 않는다.
+ * 자리표시 인자의 결과가 남지 않도록 세션을 CacheMode.IGNORE 로 두고(2차/쿼리 캐시를 읽지도 쓰지도 않는다),
+ * QueryWarmupContext 로 repository.* 지표에서도 빠진다.
+ */
+@Slf4j
+public class QueryWarmupRunner implements ApplicationRunner {
+
+    private final ApplicationContext applicationContext;
+    private final EntityManager em;
+    private final TransactionTemplate rollbackOnly;
+    private final QueryWarmupProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public QueryWarmupRunner(ApplicationContext applicationContext, EntityManager em, TransactionTemplate transactionTemplate,
+                             QueryWarmupProperties properties, MeterRegistry meterRegistry) {
+        this.applicationContext = applicationContext;
+        this.em = em;
+        this.rollbackOnly = transactionTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Repositories repositories = new Repositories(applicationContext);
+        int warmed = 0;
+        List<String> failures = new ArrayList<>();
+
+        for (Class<?> domainType : repositories) {
+            Object repository = repositories.getRepositoryFor(domainType).orElse(null);
+            RepositoryInformation information = repositories.getRepositoryInformationFor(domainType).orElse(null);
+            if (repository == null || information == null) {
+                continue;
+            }
+            for (Method method : information.getQueryMethods()) {
+                if (method.isAnnotationPresent(Modifying.class)) {
+                    continue;
+                }
+                try {
+                    QueryWarmupContext.run(() -> execute(repository, method));
+                    warmed++;
+                } catch (RuntimeException e) {
+                    failures.add(information.getRepositoryInterface().getSimpleName() + "." + method.getName() + ": " + e.getMessage());
+                }
+            }
+        }
+
+        long elapsed = sample.stop(Timer.builder("query.warmup")
+                .description("Time spent warming up repository queries at startup")
+                .register(meterRegistry));
+        log.info("query warmup: {} queries in {} ms, {} failed", warmed, elapsed / 1_000_000, failures.size());
+        failures.forEach(failure -> log.warn("query warmup failed {}", failure));
+        if (properties.failOnError() && !failures.isEmpty()) {
+            throw new IllegalStateException("쿼리 워밍업에 실패했습니다: " + failures);
+        }
+    }
+
+    private void execute(Object repository, Method method) {
+        rollbackOnly.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            em.unwrap(Session.class).setCacheMode(CacheMode.IGNORE); // 트랜잭션마다 새 세션이므로 끝나면 원래대로
+            Object[] args = new Object[method.getParameterCount()];
+            Type[] types = method.getGenericParameterTypes();
+            for (int i = 0; i < args.length; i++) {
+                args[i] = placeholder(types[i]);
+            }
+            try {
+                Object result = method.invoke(repository, args);
+                if (result instanceof AutoCloseable closeable) { // Stream 반환 쿼리
+                    closeable.close();
+                }
+            } catch (InvocationTargetException e) {
+                throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    // 결과가 없어도 되므로 쿼리 모양만 실제와 같게 만드는 값
+    private static Object placeholder(Type genericType) {
+        if (genericType instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw && Collection.class.isAssignableFrom(raw)) {
+            Object element = placeholder(parameterized.getActualTypeArguments()[0]);
+            return element == null ? List.of() : List.of(element);
+        }
+        if (!(genericType instanceof Class<?> type)) {
+            return null;
+        }
+        if (type == String.class) {
+            return "";
+        }
+        if (type == int.class || type == Integer.class) {
+            return 0;
+        }
+        if (type == long.class || type == Long.class) {
+            return 0L;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return false;
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 1);
+        }
+        if (type == Sort.class) {
+            return Sort.by("id");
+        }
+        if (type == Limit.class) {
+            return Limit.of(1);
+        }
+        if (type == ScrollPosition.class) {
+            return ScrollPosition.keyset();
+        }
+        return null;
+    }
+}
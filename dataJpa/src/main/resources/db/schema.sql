@@ -0,0 +1,33 @@
+-- prod 프로파일 스키마 (ddl-auto: validate 가 엔티티 매핑과 비교한다). 엔티티를 바꾸면 같이 바꿔야 한다.
+create sequence if not exists member_seq start with 1 increment by 50;
+
+create table if not exists team (
+    team_id bigint generated by default as identity,
+    version bigint,
+    name varchar(255),
+    primary key (team_id)
+);
+
+create table if not exists member (
+    member_id bigint not null,
+    username varchar(255),
+    age integer not null,
+    version bigint,
+    team_id bigint,
+    created_date timestamp(6),
+    last_modified_date timestamp(6),
+    created_by varchar(255),
+    last_modified_by varchar(255),
+    primary key (member_id),
+    constraint fk_member_team foreign key (team_id) references team
+);
+
+create index if not exists idx_member_username_age on member (username, age);
+create index if not exists idx_member_age_username on member (age, username, member_id);
+create index if not exists idx_member_username_id on member (username, member_id);
+
+create table if not exists item (
+    id varchar(255) not null,
+    created_date timestamp(6),
+    primary key (id)
+);
@@ -0,0 +1,96 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import study.datajpa.support.auditing.AuditClock;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "auditing.mode=fast")
+@Transactional
+class AuditListenerTest {
+
+    @Autowired AuditClock auditClock;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    void fastModeFillsAuditFields() throws Exception {
+        //given
+        RequestContextHolder.resetRequestAttributes(); // MOCK 웹 환경 테스트는 가짜 요청이 묶여 있다. 요청 밖(배치)처럼 실행
+        Member member = new Member("audited", 10);
+
+        //when
+        em.persist(member);
+        em.flush();
+
+        //then
+        assertThat(member.getCreatedDate()).isNotNull();
+        assertThat(member.getLastModifiedDate()).isEqualTo(member.getCreatedDate());
+        assertThat(member.getCreatedBy()).isEqualTo("system"); // 요청 밖에서는 system
+        assertThat(member.getLastModifiedBy()).isEqualTo("system");
+    }
+
+    @Test
+    void auditorIsResolvedOncePerRequest() throws Exception {
+        //given
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        Member member1 = new Member("audited1", 10);
+        Member member2 = new Member("audited2", 20);
+
+        //when
+        em.persist(member1);
+        em.persist(member2);
+        em.flush();
+
+        //then
+        assertThat(member1.getCreatedBy()).isNotEqualTo("system");
+        assertThat(member2.getCreatedBy()).isEqualTo(member1.getCreatedBy()); // 같은 요청은 캐시한 작성자
+    }
+
+    @Test
+    void fastModeTouchesLastModifiedOnUpdate() throws Exception {
+        //given
+        Member member = new Member("audited", 10);
+        em.persist(member);
+        em.flush();
+
+        //when
+        Thread.sleep(10);
+        member.changeUsername("audited2");
+        em.flush();
+
+        //then
+        assertThat(member.getLastModifiedDate()).isAfter(member.getCreatedDate());
+    }
+
+    @Test
+    void pinnedClockSharesTimestamp() throws Exception {
+        //given
+        Member member1 = new Member("audited1", 10);
+        Member member2 = new Member("audited2", 20);
+
+        //when
+        LocalDateTime pinnedAt;
+        try (AuditClock.Pin pin = auditClock.pin()) {
+            em.persist(member1);
+            Thread.sleep(10);
+            em.persist(member2);
+            pinnedAt = pin.time();
+        }
+
+        //then
+        assertThat(member1.getCreatedDate()).isEqualTo(pinnedAt);
+        assertThat(member2.getCreatedDate()).isEqualTo(pinnedAt);
+    }
+}
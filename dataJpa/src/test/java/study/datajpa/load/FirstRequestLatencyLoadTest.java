@@ -0,0 +1,68 @@
+package study.datajpa.load;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.datajpa.DataJpaApplication;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 쿼리 워밍업을 켜고/끄고 애플리케이션을 새로 띄운 직후, 엔드포인트마다 첫 요청 묶음의 p99 를 비교한다.
+ * 워밍업 소요 시간(query.warmup)도 같이 출력한다.
+ * ./gradlew loadTest --tests '*FirstRequestLatencyLoadTest' -Dload.first-requests=200
+ */
+@Tag("load")
+class FirstRequestLatencyLoadTest {
+
+    static final int REQUESTS = Integer.getInteger("load.first-requests", 100);
+    static final int CONCURRENCY = Integer.getInteger("load.concurrency", 20);
+    static final List<String> PATHS = List.of(
+            "/members/1", "/members/username/member1", "/members?page=1&size=20", "/members/age/10",
+            "/members/lookup?username=member1&team=teamA");
+
+    @Test
+    void compareFirstRequestLatency() throws Exception {
+        //given
+        Map<Boolean, Map<String, LoadGenerator.LoadResult>> results = new LinkedHashMap<>();
+
+        //when
+        for (boolean warmup : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(warmup)) {
+                Timer timer = context.getBean(MeterRegistry.class).find("query.warmup").timer();
+                System.out.printf("warmup=%s duration=%.1fms%n", warmup, timer == null ? 0 : timer.totalTime(TimeUnit.MILLISECONDS));
+
+                String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                Map<String, LoadGenerator.LoadResult> byPath = new LinkedHashMap<>();
+                for (String path : PATHS) {
+                    byPath.put(path, LoadGenerator.run(URI.create(base + path), REQUESTS, CONCURRENCY));
+                }
+                results.put(warmup, byPath);
+            }
+        }
+
+        //then
+        results.forEach((warmup, byPath) -> byPath.forEach((path, result) ->
+                System.out.printf("warmup=%s %s %s%n", warmup, path, result)));
+        assertThat(results.values()).allSatisfy(byPath ->
+                assertThat(byPath.values()).allSatisfy(result -> assertThat(result.errors()).isZero()));
+    }
+
+    private static ConfigurableApplicationContext start(boolean warmup) {
+        return new SpringApplicationBuilder(DataJpaApplication.class)
+                .profiles("load")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:first" + warmup,
+                        "--query-warmup.enabled=" + warmup,
+                        "--query-warmup.fail-on-error=true");
+    }
+}
@@ -0,0 +1,34 @@
+package study.datajpa.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 부하를 플랫폼 스레드/가상 스레드 모드에 각각 걸어 비교한다.
+ * ./gradlew loadTest -Dload.requests=20000 -Dload.concurrency=2000
+ */
+@Tag("load")
+abstract class MemberEndpointLoadTest {
+
+    static final int REQUESTS = Integer.getInteger("load.requests", 5_000);
+    static final int CONCURRENCY = Integer.getInteger("load.concurrency", 1_000);
+
+    @LocalServerPort
+    int port;
+
+    @Test
+    void getPage() throws Exception {
+        //when
+        LoadGenerator.LoadResult result = LoadGenerator.run(
+                URI.create("http://localhost:" + port + "/members?page=5&size=20"), REQUESTS, CONCURRENCY);
+
+        //then
+        System.out.println(getClass().getSimpleName() + " /members: " + result);
+        assertThat(result.errors()).isZero();
+    }
+}
@@ -0,0 +1,11 @@
+package study.datajpa.load;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+@SpringBootTest(webEnvironment = RANDOM_PORT)
+@ActiveProfiles("load")
+class PlatformThreadLoadTest extends MemberEndpointLoadTest {
+}
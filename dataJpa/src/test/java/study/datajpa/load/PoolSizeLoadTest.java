@@ -0,0 +1,69 @@
+package study.datajpa.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.datajpa.DataJpaApplication;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 풀 크기만 바꿔가며 같은 부하를 걸어서 처리량이 가장 높은 크기를 찾는다. 풀 크기마다 애플리케이션을 새로 띄운다.
+ * 기본 후보는 현재 코어 수 기준 (1, 2, 4, 8배). 대상 서버와 같은 코어 수의 장비에서 실행해야 의미가 있다.
+ * ./gradlew loadTest --tests '*PoolSizeLoadTest' -Dload.pool-sizes=4,8,16,32 -Dload.requests=20000
+ */
+@Tag("load")
+class PoolSizeLoadTest {
+
+    static final int REQUESTS = Integer.getInteger("load.requests", 5_000);
+    static final int CONCURRENCY = Integer.getInteger("load.concurrency", 200);
+    static final String PATH = System.getProperty("load.path", "/members?page=5&size=20");
+
+    @Test
+    void findOptimalPoolSize() throws Exception {
+        //given
+        Map<Integer, LoadGenerator.LoadResult> results = new LinkedHashMap<>();
+
+        //when
+        for (int poolSize : poolSizes()) {
+            try (ConfigurableApplicationContext context = start(poolSize)) {
+                URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + PATH);
+                LoadGenerator.run(uri, Math.max(REQUESTS / 10, 100), CONCURRENCY); // 워밍업
+                results.put(poolSize, LoadGenerator.run(uri, REQUESTS, CONCURRENCY));
+            }
+        }
+
+        //then
+        int cores = Runtime.getRuntime().availableProcessors();
+        results.forEach((poolSize, result) -> System.out.printf("cores=%d pool=%d %s%n", cores, poolSize, result));
+        int best = results.entrySet().stream()
+                .max(Map.Entry.comparingByValue((a, b) -> Double.compare(a.throughput(), b.throughput())))
+                .orElseThrow().getKey();
+        System.out.printf("best pool size for %s on %d cores: %d%n", PATH, cores, best);
+        assertThat(results.values()).allSatisfy(result -> assertThat(result.errors()).isZero());
+    }
+
+    private static int[] poolSizes() {
+        String sizes = System.getProperty("load.pool-sizes");
+        if (sizes != null) {
+            return Arrays.stream(sizes.split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        return new int[]{cores, cores * 2, cores * 4, cores * 8};
+    }
+
+    private static ConfigurableApplicationContext start(int poolSize) {
+        return new SpringApplicationBuilder(DataJpaApplication.class)
+                .profiles("load")
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:pool" + poolSize,
+                        "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                        "--spring.datasource.hikari.minimum-idle=" + poolSize);
+    }
+}
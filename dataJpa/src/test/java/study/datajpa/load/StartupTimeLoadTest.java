@@ -0,0 +1,65 @@
+package study.datajpa.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.datajpa.DataJpaApplication;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 프로파일별로 SpringApplication.run 시작부터 ApplicationReadyEvent 까지 시간을 잰다.
+ * 같은 JVM 에서 여러 번 띄우므로 클래스 로딩/JIT 비용은 첫 회에만 들어간다. 첫 회는 버리고 나머지의 최솟값을 비교한다.
+ * CDS 효과는 JVM 을 새로 띄워야 보이므로 ./gradlew bootRunCds 의 "Started DataJpaApplication in ..." 로그로 확인한다.
+ * ./gradlew loadTest --tests '*StartupTimeLoadTest' -Dload.startups=5
+ */
+@Tag("load")
+class StartupTimeLoadTest {
+
+    static final int STARTUPS = Integer.getInteger("load.startups", 5);
+
+    @Test
+    void compareStartupToReady() throws Exception {
+        //given
+        Map<String, Long> results = new LinkedHashMap<>();
+        startupMillis("default", -1); // 클래스 로딩/JIT 워밍업
+
+        //when
+        for (String profile : new String[]{"default", "prod"}) {
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < STARTUPS; i++) {
+                best = Math.min(best, startupMillis(profile, i));
+            }
+            results.put(profile, best);
+        }
+
+        //then
+        results.forEach((profile, millis) -> System.out.printf("profile=%s startup-to-ready=%dms%n", profile, millis));
+        assertThat(results.values()).allSatisfy(millis -> assertThat(millis).isPositive());
+    }
+
+    private static long startupMillis(String profile, int run) {
+        AtomicLong ready = new AtomicLong();
+        long start = System.nanoTime();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .profiles(profile)
+                .listeners((ApplicationListener<ApplicationEvent>) event -> {
+                    if (event instanceof ApplicationReadyEvent) {
+                        ready.set(System.nanoTime());
+                    }
+                })
+                // 테스트 설정은 샘플 저장을 끄므로 메인 설정대로 default 만 저장하게 되돌린다.
+                .run("--server.port=0", "--spring.datasource.url=jdbc:h2:mem:startup-" + profile + run,
+                        "--seed.enabled=" + "default".equals(profile));
+        context.close();
+        return (ready.get() - start) / 1_000_000;
+    }
+}
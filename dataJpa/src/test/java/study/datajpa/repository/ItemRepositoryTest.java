@@ -1,14 +1,23 @@
 package study.datajpa.repository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.entity.Item;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 class ItemRepositoryTest {
 
     @Autowired ItemRepository itemRepository;
+    @PersistenceContext EntityManager em;
 
     @Test
     void test() {
@@ -16,4 +25,42 @@ class ItemRepositoryTest {
         itemRepository.save(item);
     }
 
-}
\ No newline at end of file
+    @Test
+    @Transactional
+    void upsertAll() throws Exception {
+        //given
+        itemRepository.upsertAll(List.of(new Item("upsert1"), new Item("upsert2")));
+
+        //when
+        Item existing = new Item("upsert2");
+        int inserted = itemRepository.upsertAll(List.of(existing, new Item("upsert3")));
+
+        //then
+        assertThat(inserted).isEqualTo(1); // upsert2 는 이미 있으므로 upsert3 만 insert
+        assertThat(itemRepository.findAllById(List.of("upsert1", "upsert2", "upsert3"))).hasSize(3);
+        assertThat(existing.isNew()).isFalse();
+        assertThat(existing.getId()).isEqualTo("upsert2");
+    }
+
+    @Test
+    @Transactional
+    void upsertAllKeepsExistingCreatedDate() throws Exception {
+        //given
+        Item first = new Item("upsert4");
+        itemRepository.upsertAll(List.of(first));
+        LocalDateTime original = first.getCreatedDate();
+        Thread.sleep(5);
+
+        //when
+        Item again = new Item("upsert4");
+        itemRepository.upsertAll(List.of(again));
+        itemRepository.save(again);
+        itemRepository.flush();
+        em.clear();
+
+        //then
+        assertThat(again.getCreatedDate()).isEqualTo(original);
+        assertThat(itemRepository.findById("upsert4")).get()
+                .extracting(Item::getCreatedDate).isEqualTo(original);
+    }
+}
@@ -0,0 +1,75 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 2차 캐시는 트랜잭션이 커밋된 뒤에 다른 세션에서 보이므로 테스트 트랜잭션 없이 각 호출을 별도 트랜잭션으로 실행한다.
+ */
+@SpringBootTest
+class MemberCacheTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired EntityManagerFactory emf;
+
+    Statistics statistics;
+    Member member;
+
+    @BeforeEach
+    void setUp() {
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        member = memberRepository.save(new Member("cachedMember", 1000));
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteById(member.getId());
+    }
+
+    @Test
+    void findByIdUsesSecondLevelCache() throws Exception {
+        //when
+        memberRepository.findById(member.getId());
+        memberRepository.findById(member.getId());
+
+        //then
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void findByUsernameUsesQueryCache() throws Exception {
+        //when
+        memberRepository.findByUsername("cachedMember");
+        memberRepository.findByUsername("cachedMember");
+
+        //then
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void bulkUpdateInvalidatesCache() throws Exception {
+        //given
+        memberRepository.findByUsername("cachedMember");
+
+        //when
+        transactionTemplate.executeWithoutResult(status -> memberRepository.bulkAgePlus(1000));
+
+        //then
+        assertThat(memberRepository.findById(member.getId()).orElseThrow().getAge()).isEqualTo(1001);
+        assertThat(memberRepository.findByUsername("cachedMember").getFirst().getAge()).isEqualTo(1001);
+    }
+}
@@ -0,0 +1,175 @@
+package study.datajpa.repository;
+
+import com.p6spy.engine.common.PreparedStatementInformation;
+import com.p6spy.engine.event.JdbcEventListener;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.dto.MemberCursor;
+import study.datajpa.entity.Member;
+
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 조건이 있는 회원 조회 쿼리가 인덱스를 타는지 H2 EXPLAIN 으로 검사한다.
+ * 실행된 SQL 은 p6spy 리스너로 파라미터가 채워진 채로 잡아서 그대로 EXPLAIN 한다.
+ * MemberRepository 에 쿼리 메서드를 추가하면 CHECKED 또는 FULL_SCAN_ALLOWED 중 하나에 넣어야 이 테스트가 통과한다.
+ */
+@SpringBootTest
+@Transactional
+class MemberQueryPlanTest {
+
+    // 조건 없이 전체를 읽는 것이 의도인 쿼리 (또는 회원 테이블 조건이 아닌 쿼리)
+    static final Set<String> FULL_SCAN_ALLOWED = Set.of(
+            "findAll", "findUsernameList", "findMemberDto", "streamMemberDto", "findSliceProjectedBy",
+            "findMemberFetchJoin", "findMemberEntityGraph", "estimateCount", "findMemberDtoByTeamName");
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired MemberJpaRepository memberJpaRepository;
+    @Autowired SqlCapture sqlCapture;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        SqlCapture sqlCapture() {
+            return new SqlCapture();
+        }
+    }
+
+    // p6spy 스타터가 JdbcEventListener 빈을 등록해준다.
+    static class SqlCapture extends JdbcEventListener {
+
+        private final ThreadLocal<List<String>> captured = new ThreadLocal<>();
+
+        List<String> capture(Runnable query) {
+            List<String> sql = new ArrayList<>();
+            captured.set(sql);
+            try {
+                query.run();
+            } finally {
+                captured.remove();
+            }
+            return sql;
+        }
+
+        @Override
+        public void onAfterExecuteQuery(PreparedStatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+            add(statementInformation);
+        }
+
+        @Override
+        public void onAfterExecuteUpdate(PreparedStatementInformation statementInformation, long timeElapsedNanos,
+                                         int rowCount, SQLException e) {
+            add(statementInformation);
+        }
+
+        private void add(PreparedStatementInformation statementInformation) {
+            List<String> sql = captured.get();
+            if (sql != null) {
+                sql.add(statementInformation.getSqlWithValues());
+            }
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 200; i++) {
+            em.persist(new Member("plan" + i, i % 20));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void filteredQueriesUseIndex() throws Exception {
+        //given
+        PageRequest page = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username"));
+        Map<String, Runnable> checked = new LinkedHashMap<>();
+        checked.put("findByUsernameAndAgeGreaterThan", () -> memberRepository.findByUsernameAndAgeGreaterThan("plan1", 0));
+        checked.put("findByUsername", () -> memberRepository.findByUsername("plan1"));
+        checked.put("findUser", () -> memberRepository.findUser("plan1", 1));
+        checked.put("findMemberDtoByUsername", () -> memberRepository.findMemberDtoByUsername("plan1"));
+        checked.put("findByNames", () -> memberRepository.findByNames(List.of("plan1", "plan2", "plan3")));
+        checked.put("findByUsernameIn", () -> memberRepository.findByUsernameIn(List.of("plan1", "plan2", "plan3")));
+        checked.put("findByUsernames", () -> memberRepository.findByUsernames(List.of("plan1", "plan2")));
+        checked.put("findListByUsername", () -> memberRepository.findListByUsername("plan1"));
+        checked.put("findMemberByUsername", () -> memberRepository.findMemberByUsername("plan1"));
+        checked.put("findOptionalByUsername", () -> memberRepository.findOptionalByUsername("plan1"));
+        checked.put("findByAge", () -> memberRepository.findByAge(10, page));
+        checked.put("findSliceByAge", () -> memberRepository.findSliceByAge(10, page));
+        checked.put("findSummarySliceByAge", () -> memberRepository.findSummarySliceByAge(10, page));
+        checked.put("countByAge", () -> memberRepository.countByAge(10));
+        checked.put("findEntityGraphByUsername", () -> memberRepository.findEntityGraphByUsername("plan1"));
+        checked.put("findReadOnlyByUsername", () -> memberRepository.findReadOnlyByUsername("plan1"));
+        checked.put("findLockByUsername", () -> memberRepository.findLockByUsername("plan1"));
+        // 첫 페이지가 아닌 위치: username > ? or (username = ? and id > ?) 를 idx_member_username_id 로 읽어야 한다.
+        checked.put("findWindowBy", () -> memberRepository.findWindowBy(
+                ScrollPosition.forward(Map.of("username", "plan1", "id", 0L)), MemberCursor.SORT, Limit.of(3)));
+        checked.put("bulkAgePlus", () -> memberRepository.bulkAgePlus(1000)); // 테스트 트랜잭션이라 롤백된다
+        checked.put("MemberJpaRepository.findByPage", () -> memberJpaRepository.findByPage(10, 0, 3));
+        checked.put("MemberJpaRepository.totalCount", () -> memberJpaRepository.totalCount(10));
+
+        //when, then
+        SoftAssertions softly = new SoftAssertions();
+        checked.forEach((name, query) -> {
+            List<String> statements = sqlCapture.capture(query);
+            softly.assertThat(statements).as(name + " 실행된 SQL").isNotEmpty();
+            for (String sql : statements) {
+                String plan = explain(sql);
+                softly.assertThat(plan).as(name + " 실행 계획").doesNotContainIgnoringCase("MEMBER.tableScan");
+            }
+        });
+        softly.assertAll();
+    }
+
+    @Test
+    void everyQueryMethodIsCheckedOrAllowed() throws Exception {
+        //given
+        Set<String> checked = Set.of(
+                "findByUsernameAndAgeGreaterThan", "findByUsername", "findUser", "findMemberDtoByUsername", "findByNames",
+                "findByUsernameIn", "findListByUsername", "findMemberByUsername", "findOptionalByUsername", "findByAge",
+                "findSliceByAge", "findSummarySliceByAge", "countByAge",
+                "findEntityGraphByUsername", "findReadOnlyByUsername", "findLockByUsername", "findWindowBy", "bulkAgePlus");
+
+        //when
+        Set<String> declared = Arrays.stream(MemberRepository.class.getDeclaredMethods())
+                .filter(method -> !method.isDefault() && !method.isSynthetic())
+                .map(Method::getName)
+                .collect(Collectors.toSet());
+
+        //then
+        assertThat(declared).allMatch(name -> checked.contains(name) || FULL_SCAN_ALLOWED.contains(name),
+                "filteredQueriesUseIndex 에 추가하거나 FULL_SCAN_ALLOWED 에 넣어야 한다");
+    }
+
+    private String explain(String sql) {
+        String query = sql.strip().replaceAll("(?i)\\s+for update$", ""); // 실행 계획에는 락 절이 필요 없다
+        return String.join("\n", jdbcTemplate.queryForList("explain " + query, String.class));
+    }
+}
@@ -0,0 +1,61 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberReportRepositoryTest {
+
+    @Autowired MemberReportRepository memberReportRepository;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        Team team = new Team("reportTeam");
+        em.persist(team);
+        em.persist(new Member("report1", 10, team));
+        em.persist(new Member("report2", 20, team));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void findAllDoesNotUsePersistenceContext() throws Exception {
+        //when
+        List<Member> members = memberReportRepository.findAll().stream()
+                .filter(member -> member.getUsername().startsWith("report"))
+                .toList();
+
+        //then
+        assertThat(members).hasSize(2);
+        assertThat(members.getFirst().getTeam().getName()).isEqualTo("reportTeam"); // fetch join
+        assertThat(members).noneMatch(em::contains);
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void findMemberDto() throws Exception {
+        //when
+        List<MemberDto> result = memberReportRepository.findMemberDto();
+
+        //then
+        assertThat(result).extracting("username").contains("report1", "report2");
+        assertThat(memberReportRepository.findUsernameList()).contains("report1", "report2");
+    }
+}
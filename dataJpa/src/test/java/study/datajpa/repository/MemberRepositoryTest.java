@@ -2,21 +2,29 @@ package study.datajpa.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.dto.MemberCursor;
 import study.datajpa.dto.MemberDto;
+import study.datajpa.dto.MemberSummary;
 import study.datajpa.entity.Member;
 import study.datajpa.entity.Team;
+import study.datajpa.support.querycount.QueryCounter;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -186,6 +194,30 @@ class MemberRepositoryTest {
         assertThat(result).containsExactly(m1, m2);
     }
 
+    @Test
+    void findByUsernames() throws Exception {
+        //given
+        Member m1 = new Member("memberA", 10);
+        Member m2 = new Member("memberB", 20);
+
+        memberRepository.save(m1);
+        memberRepository.save(m2);
+
+        List<String> usernames = new ArrayList<>(IntStream.range(0, 10_000).mapToObj(i -> "none" + i).toList());
+        usernames.add("memberA");
+        usernames.add("memberB");
+        usernames.add("memberA");
+        em.flush(); // insert 가 조회 횟수에 섞이지 않게 먼저 내보낸다
+
+        //when
+        long start = QueryCounter.current();
+        List<Member> result = memberRepository.findByUsernames(usernames);
+
+        //then
+        assertThat(result).containsExactlyInAnyOrder(m1, m2);
+        assertThat(QueryCounter.current() - start).isEqualTo((10_002 + 511) / 512); // 중복 제거 후 512개씩
+    }
+
     @Test
     void findByUsernameIn() throws Exception {
         //given
@@ -225,14 +257,14 @@ class MemberRepositoryTest {
     @Test
     void paging() throws Exception {
         //given
-        memberRepository.save(new Member("member1", 10));
-        memberRepository.save(new Member("member2", 10));
-        memberRepository.save(new Member("member3", 10));
-        memberRepository.save(new Member("member4", 10));
-        memberRepository.save(new Member("member5", 10));
-        memberRepository.save(new Member("member6", 10));
-
-        int age = 10;
+        memberRepository.save(new Member("member1", 1010));
+        memberRepository.save(new Member("member2", 1010));
+        memberRepository.save(new Member("member3", 1010));
+        memberRepository.save(new Member("member4", 1010));
+        memberRepository.save(new Member("member5", 1010));
+        memberRepository.save(new Member("member6", 1010));
+
+        int age = 1010; // 시드 데이터(member0~99, 나이 0~99)와 겹치지 않는 나이
         PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username"));
 
         //when
@@ -281,6 +313,50 @@ class MemberRepositoryTest {
         assertThat(page.hasNext()).isTrue();
     }
 
+    @Test
+    void findSliceProjectedBy() throws Exception {
+        //given
+        Team teamA = new Team("teamA");
+        teamRepository.save(teamA);
+        memberRepository.save(new Member("projection1", 10, teamA));
+        memberRepository.save(new Member("projection2", 20));
+        em.flush();
+        em.clear();
+
+        //when
+        Slice<MemberSummary> page = memberRepository.findSliceProjectedBy(
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "username")));
+
+        //then
+        assertThat(page.getContent()).containsExactly(
+                new MemberSummary(page.getContent().get(0).id(), "projection2", null),
+                new MemberSummary(page.getContent().get(1).id(), "projection1", "teamA"));
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero(); // 엔티티를 영속성 컨텍스트에 올리지 않는다.
+    }
+
+    @Test
+    void window() throws Exception {
+        //given
+        for (int i = 1; i <= 6; i++) {
+            memberRepository.save(new Member("scroll" + i, 10));
+        }
+        // 다른 데이터보다 뒤에 오도록 "scroll" 바로 다음부터 시작, 커서 인코딩도 같이 검증
+        String after = new MemberCursor("scroll", 0L).encode();
+
+        //when
+        Window<Member> first = memberRepository.findWindowBy(MemberCursor.decode(after).toPosition(), MemberCursor.SORT, Limit.of(4));
+        String next = MemberCursor.of(first.getContent().getLast()).encode();
+        Window<Member> second = memberRepository.findWindowBy(MemberCursor.decode(next).toPosition(), MemberCursor.SORT, Limit.of(4));
+
+        //then
+        assertThat(first.getContent()).extracting(Member::getUsername)
+                .containsExactly("scroll1", "scroll2", "scroll3", "scroll4");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).extracting(Member::getUsername)
+                .containsExactly("scroll5", "scroll6");
+        assertThat(second.hasNext()).isFalse();
+    }
+
     @Test
     void bulkUpdate() throws Exception {
         //given
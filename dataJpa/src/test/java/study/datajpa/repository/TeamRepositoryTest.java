@@ -0,0 +1,66 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.support.querycount.QueryCounter;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class TeamRepositoryTest {
+
+    @Autowired TeamRepository teamRepository;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            Team team = new Team("team" + i);
+            em.persist(team);
+            em.persist(new Member("a" + i, 10, team));
+            em.persist(new Member("b" + i, 20, team));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void findSliceWithMembers() throws Exception {
+        //when
+        long start = QueryCounter.current();
+        Slice<Team> slice = teamRepository.findSliceWithMembers(PageRequest.of(0, 3, Sort.by("id")));
+        int members = slice.getContent().stream().mapToInt(team -> team.getMembers().size()).sum();
+
+        //then
+        assertThat(slice.getContent()).hasSize(3);
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(members).isEqualTo(6);
+        assertThat(QueryCounter.current() - start).isEqualTo(2); // 팀 (size + 1) + 회원 in 절, count 없음
+    }
+
+    @Test
+    void membersAreBatchFetched() throws Exception {
+        //when
+        long start = QueryCounter.current();
+        List<Team> teams = teamRepository.findAll();
+        teams.forEach(team -> team.getMembers().size());
+
+        //then
+        assertThat(QueryCounter.current() - start).isEqualTo(1 + 1); // 팀마다가 아니라 @BatchSize 로 한 번
+    }
+}
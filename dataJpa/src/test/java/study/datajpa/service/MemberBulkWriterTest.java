@@ -0,0 +1,104 @@
+package study.datajpa.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * batchSize 마다 flush/clear 하는지 확인하고, save 루프와 MemberBulkWriter 의 처리량을 비교한다(load 태그).
+ * ./gradlew loadTest -Pbulk.members=1000000
+ */
+@SpringBootTest(properties = {
+        "decorator.datasource.p6spy.enable-logging=false",
+        "logging.level.org.hibernate.SQL=info"})
+class MemberBulkWriterTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MemberBulkWriterTest.class);
+
+    static final int COUNT = Integer.getInteger("bulk.members", 10_000);
+
+    @Autowired MemberBulkWriter memberBulkWriter;
+    @Autowired MemberRepository memberRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired EntityManagerFactory emf;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @AfterEach
+    void cleanUp() {
+        transactionTemplate.executeWithoutResult(status ->
+                em.createQuery("delete from Member m where m.username like 'bulk%'").executeUpdate());
+    }
+
+    @Test
+    void insertsInJdbcBatchesAndClearsPersistenceContext() throws Exception {
+        //given
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        long insertsBefore = statistics.getEntityInsertCount();
+        long preparedBefore = statistics.getPrepareStatementCount();
+        Member first = new Member("bulk0", 0);
+
+        //when, then
+        transactionTemplate.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            memberBulkWriter.saveAll(Stream.concat(Stream.of(first),
+                    IntStream.range(1, 250).mapToObj(i -> new Member("bulk" + i, i % 100))));
+
+            // 배치마다 clear 해서 같은 트랜잭션의 영속성 컨텍스트에 남은 엔티티가 없다
+            assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+            assertThat(em.contains(first)).isFalse();
+        });
+        assertThat(statistics.getEntityInsertCount() - insertsBefore).isEqualTo(250);
+        // batch_size 100 이면 insert 문 준비는 3번 + 시퀀스 조회(allocationSize 50) 몇 번. 건마다 준비하면 250번 이상
+        assertThat(statistics.getPrepareStatementCount() - preparedBefore).isLessThan(20);
+    }
+
+    @Tag("load")
+    @Test
+    void saveLoop() throws Exception {
+        //when
+        long start = System.nanoTime();
+        for (int i = 0; i < COUNT; i++) {
+            memberRepository.save(new Member("bulk" + i, i % 100)); // 건마다 트랜잭션 + insert 1번
+        }
+
+        //then
+        report("save loop", start);
+    }
+
+    @Tag("load")
+    @Test
+    void bulkWriter() throws Exception {
+        //when
+        long start = System.nanoTime();
+        long saved = memberBulkWriter.saveAll(IntStream.range(0, COUNT).mapToObj(i -> new Member("bulk" + i, i % 100)));
+
+        //then
+        report("MemberBulkWriter", start);
+        assertThat(saved).isEqualTo(COUNT);
+    }
+
+    private void report(String name, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        log.info("{}: {} members in {}s ({} rows/s)", name, COUNT, "%.2f".formatted(seconds), "%.0f".formatted(COUNT / seconds));
+    }
+}
@@ -0,0 +1,69 @@
+package study.datajpa.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberExportServiceTest {
+
+    @Autowired MemberExportService memberExportService;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        Team team = new Team("team,A");
+        em.persist(team);
+        em.persist(new Member("export1", 10, team));
+        em.persist(new Member("export2", 20));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void exportNdjson() throws Exception {
+        //given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        long count = memberExportService.export(ExportFormat.NDJSON, out);
+
+        //then
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertThat(body.lines()).hasSize((int) count);
+        assertThat(body).contains("\"username\":\"export1\",\"teamName\":\"team,A\"");
+        assertThat(body).contains("\"username\":\"export2\",\"teamName\":null");
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero(); // 엔티티를 만들지 않는다.
+    }
+
+    @Test
+    void exportCsv() throws Exception {
+        //given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        //when
+        long count = memberExportService.export(ExportFormat.CSV, out);
+
+        //then
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertThat(body.lines()).hasSize((int) count + 1);
+        assertThat(body.lines().findFirst()).hasValue("id,username,teamName");
+        assertThat(body).contains(",export1,\"team,A\"");
+        assertThat(body).contains(",export2,\n");
+    }
+}
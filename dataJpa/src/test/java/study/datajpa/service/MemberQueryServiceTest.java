@@ -0,0 +1,68 @@
+package study.datajpa.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 조회는 다른 스레드의 트랜잭션에서 실행되므로 데이터는 커밋해 두고 직접 정리한다.
+ */
+@SpringBootTest
+class MemberQueryServiceTest {
+
+    @Autowired MemberQueryService memberQueryService;
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+
+    Team team;
+    List<Member> members;
+
+    @BeforeEach
+    void setUp() {
+        team = teamRepository.save(new Team("asyncTeam"));
+        members = memberRepository.saveAll(List.of(
+                new Member("async1", 10, team),
+                new Member("async2", 20, team),
+                new Member("async3", 30)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteAllInBatch(members);
+        teamRepository.deleteAllInBatch(List.of(team));
+    }
+
+    @Test
+    void findByUsernames() throws Exception {
+        //when
+        Map<String, List<MemberDto>> result = memberQueryService.findByUsernames(List.of("async3", "async1", "none")).get();
+
+        //then
+        assertThat(result).containsOnlyKeys("async3", "async1", "none");
+        assertThat(result.keySet()).containsExactly("async3", "async1", "none"); // 요청 순서 유지
+        assertThat(result.get("async1")).extracting("teamName").containsExactly("asyncTeam");
+        assertThat(result.get("async3")).extracting("teamName").containsExactly((Object) null);
+        assertThat(result.get("none")).isEmpty();
+    }
+
+    @Test
+    void findByTeamName() throws Exception {
+        //when
+        List<MemberDto> result = memberQueryService.findByTeamName("asyncTeam").get();
+
+        //then
+        assertThat(result).extracting("username").containsExactlyInAnyOrder("async1", "async2");
+    }
+}
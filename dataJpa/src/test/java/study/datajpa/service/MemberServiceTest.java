@@ -0,0 +1,91 @@
+package study.datajpa.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 여러 스레드가 각자 트랜잭션을 커밋해야 충돌이 나므로 테스트 트랜잭션 없이 실행한다.
+ */
+@SpringBootTest(properties = "optimistic-retry.max-attempts=100")
+class MemberServiceTest {
+
+    static final int THREADS = 4;
+    static final int UPDATES_PER_THREAD = 5;
+
+    @Autowired MemberService memberService;
+    @Autowired MemberRepository memberRepository;
+    @Autowired MeterRegistry meterRegistry;
+
+    Member member;
+
+    @BeforeEach
+    void setUp() {
+        member = memberRepository.save(new Member("contended", 0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        memberRepository.deleteById(member.getId());
+    }
+
+    @Test
+    void increaseAgeRetriesOnConflict() throws Exception {
+        //when
+        concurrently(() -> memberService.increaseAge("contended"));
+
+        //then
+        Member found = memberRepository.findById(member.getId()).get();
+        assertThat(found.getAge()).isEqualTo(THREADS * UPDATES_PER_THREAD); // 충돌한 update 도 재시도로 모두 반영
+        assertThat(found.getVersion()).isEqualTo((long) THREADS * UPDATES_PER_THREAD);
+    }
+
+    @Test
+    void increaseAgeWithLock() throws Exception {
+        //when
+        concurrently(() -> memberService.increaseAgeWithLock("contended"));
+
+        //then
+        assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(THREADS * UPDATES_PER_THREAD);
+    }
+
+    @Test
+    void transactionCountIncludesCommitFlush() throws Exception {
+        //given
+        DistributionSummary summary = meterRegistry.summary("sql.statements",
+                "scope", "transaction", "name", "MemberService.increaseAgeWithLock");
+        double before = summary.totalAmount();
+
+        //when
+        memberService.increaseAgeWithLock("contended");
+
+        //then
+        assertThat(summary.totalAmount() - before).isEqualTo(2); // select for update + 커밋 시 flush 되는 update
+    }
+
+    private void concurrently(Runnable update) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<?> future : IntStream.range(0, THREADS)
+                    .mapToObj(i -> executor.submit(() -> IntStream.range(0, UPDATES_PER_THREAD).forEach(j -> update.run())))
+                    .toList()) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
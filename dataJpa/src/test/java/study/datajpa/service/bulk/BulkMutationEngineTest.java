@@ -0,0 +1,109 @@
+package study.datajpa.service.bulk;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 청크는 별도 트랜잭션으로 커밋되므로 테스트 트랜잭션 없이 실행하고 직접 정리한다.
+ */
+@SpringBootTest
+class BulkMutationEngineTest {
+
+    @Autowired BulkMutationEngine bulkMutationEngine;
+    @Autowired MemberRepository memberRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    List<Member> members;
+
+    @BeforeEach
+    void setUp() {
+        members = memberRepository.saveAll(IntStream.range(0, 10)
+                .mapToObj(i -> new Member("chunk" + i, i * 10))
+                .toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from member where username like 'chunk%'");
+    }
+
+    private BulkMutation agePlus(int age) {
+        return BulkMutation.on(Member.class, "member", "member_id")
+                .set("age = age + 1")
+                .where("username like 'chunk%' and age >= :age")
+                .param("age", age)
+                .chunkSize(3);
+    }
+
+    @Test
+    void executeInParallelChunks() throws Exception {
+        //given
+        Member cached = members.get(9);
+        memberRepository.findById(cached.getId()); // 2차 캐시에 올려둔다
+        memberRepository.findByUsername("chunk9"); // 쿼리 캐시에 올려둔다
+        List<BulkMutationProgress> progress = new ArrayList<>();
+
+        //when
+        BulkMutationResult result = bulkMutationEngine.execute(agePlus(50).parallelism(2),
+                new BulkMutationCheckpoint(), p -> {
+                    synchronized (progress) {
+                        progress.add(p);
+                    }
+                });
+
+        //then
+        assertThat(result.affectedRows()).isEqualTo(5);
+        assertThat(result.executedChunks()).isEqualTo(result.totalChunks());
+        assertThat(progress).hasSize(result.totalChunks());
+        assertThat(memberRepository.findById(cached.getId()).get().getAge()).isEqualTo(91); // 캐시가 아니라 갱신된 값
+        assertThat(memberRepository.findByUsername("chunk9")).extracting(Member::getAge).containsExactly(91);
+        assertThat(memberRepository.findById(members.get(0).getId()).get().getAge()).isEqualTo(0);
+    }
+
+    @Test
+    void resumeSkipsCompletedChunks() throws Exception {
+        //given
+        BulkMutationCheckpoint checkpoint = new BulkMutationCheckpoint();
+        bulkMutationEngine.execute(agePlus(0), checkpoint, p -> { });
+
+        //when
+        BulkMutationResult resumed = bulkMutationEngine.execute(agePlus(0), checkpoint, p -> { });
+
+        //then
+        assertThat(resumed.executedChunks()).isZero();
+        assertThat(resumed.affectedRows()).isEqualTo(10);
+        assertThat(memberRepository.findById(members.get(1).getId()).get().getAge()).isEqualTo(11); // 두 번 더해지지 않는다
+    }
+
+    @Test
+    void failureKeepsCheckpoint() throws Exception {
+        //given
+        BulkMutation broken = agePlus(0).set("age = no_such_column");
+
+        //when, then
+        assertThatThrownBy(() -> bulkMutationEngine.execute(broken))
+                .isInstanceOf(BulkMutationException.class)
+                .satisfies(e -> {
+                    BulkMutationCheckpoint checkpoint = ((BulkMutationException) e).getCheckpoint();
+                    // 대상 행이 있는 청크는 하나도 완료로 기록되지 않는다 (빈 청크만 완료될 수 있다)
+                    assertThat(members).noneMatch(member -> checkpoint.isCompleted(chunkStart(checkpoint, member.getId())));
+                });
+    }
+
+    private static long chunkStart(BulkMutationCheckpoint checkpoint, long id) {
+        return checkpoint.origin() + (id - checkpoint.origin()) / 3 * 3; // agePlus 의 chunkSize
+    }
+}
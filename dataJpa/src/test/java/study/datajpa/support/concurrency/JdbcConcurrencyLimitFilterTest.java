@@ -0,0 +1,43 @@
+package study.datajpa.support.concurrency;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcConcurrencyLimitFilterTest {
+
+    JdbcConcurrencyLimitFilter filter = new JdbcConcurrencyLimitFilter(1, Duration.ofMillis(10));
+
+    @Test
+    void syncRequestReleasesAfterChain() throws Exception {
+        //when
+        filter.doFilter(new MockHttpServletRequest("GET", "/members"), new MockHttpServletResponse(), (req, res) -> { });
+
+        //then
+        assertThat(filter.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void asyncRequestHoldsPermitUntilComplete() throws Exception {
+        //given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/members/export");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        //when
+        filter.doFilter(request, response, (req, res) -> req.startAsync());
+
+        //then
+        assertThat(filter.availablePermits()).isZero(); // StreamingResponseBody 가 아직 커넥션을 쓰는 중
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/members"), rejected, (req, res) -> { });
+        assertThat(rejected.getStatus()).isEqualTo(503);
+
+        request.getAsyncContext().complete();
+        assertThat(filter.availablePermits()).isEqualTo(1);
+    }
+}
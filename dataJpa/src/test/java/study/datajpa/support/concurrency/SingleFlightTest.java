@@ -0,0 +1,83 @@
+package study.datajpa.support.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    static final int CALLERS = 8;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    SingleFlight<Long, String> singleFlight = new SingleFlight<>("test", meterRegistry);
+    AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void concurrentCallsShareOneLoad() throws Exception {
+        //given
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+        //when
+        List<Future<String>> results = IntStream.range(0, CALLERS)
+                .mapToObj(i -> executor.submit(() -> singleFlight.execute(1L, () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "member1";
+                })))
+                .toList();
+        waitUntilAllJoined();
+        release.countDown();
+
+        //then
+        for (Future<String> result : results) {
+            assertThat(result.get()).isEqualTo("member1");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(calls("shared")).isEqualTo(CALLERS - 1);
+        executor.shutdown();
+    }
+
+    @Test
+    void failureIsSharedAndNotRemembered() throws Exception {
+        //when
+        assertThatThrownBy(() -> singleFlight.execute(1L, () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+        String retried = singleFlight.execute(1L, () -> "member1");
+
+        //then
+        assertThat(retried).isEqualTo("member1"); // 끝난 호출의 결과(예외)는 남지 않는다
+        assertThat(calls("leader")).isEqualTo(2);
+    }
+
+    private void waitUntilAllJoined() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls("leader") + calls("shared") < CALLERS && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private double calls(String result) {
+        return meterRegistry.get("single.flight.calls").tag("result", result).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package study.datajpa.support.datasource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 원본/복제본을 서로 다른 H2 인메모리 DB 로 띄우고 DATABASE() 로 어느 쪽에 붙었는지 확인한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routingPrimary",
+        "datasource-routing.enabled=true",
+        "datasource-routing.replica.jdbc-url=jdbc:h2:mem:routingReplica",
+        "datasource-routing.replica.username=sa"})
+class ReplicationRoutingDataSourceTest {
+
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Test
+    void readOnlyTransactionGoesToReplica() throws Exception {
+        //given
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        //when
+        Object database = readOnly.execute(status -> em.createNativeQuery("select database()").getSingleResult());
+
+        //then
+        assertThat(database.toString()).isEqualToIgnoringCase("routingReplica");
+    }
+
+    @Test
+    void readWriteTransactionGoesToPrimary() throws Exception {
+        //given
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        //when
+        Object database = readWrite.execute(status -> em.createNativeQuery("select database()").getSingleResult());
+
+        //then
+        assertThat(database.toString()).isEqualToIgnoringCase("routingPrimary");
+    }
+}
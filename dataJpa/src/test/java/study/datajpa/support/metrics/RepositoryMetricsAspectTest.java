@@ -0,0 +1,80 @@
+package study.datajpa.support.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberJpaRepository;
+import study.datajpa.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class RepositoryMetricsAspectTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired MemberJpaRepository memberJpaRepository;
+    @Autowired MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        Team team = new Team("metricTeam");
+        em.persist(team);
+        em.persist(new Member("metric", 10, team));
+        em.persist(new Member("metric", 20, team));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void springDataRepository() throws Exception {
+        //given
+        long before = count("MemberRepository", "findEntityGraphByUsername");
+
+        //when
+        memberRepository.findEntityGraphByUsername("metric");
+
+        //then
+        assertThat(count("MemberRepository", "findEntityGraphByUsername")).isEqualTo(before + 1);
+        assertThat(summary("repository.rows", "MemberRepository", "findEntityGraphByUsername")).isEqualTo(2);
+        // 회원 2 + 함께 fetch 한 팀 1
+        assertThat(summary("repository.entities.loaded", "MemberRepository", "findEntityGraphByUsername")).isEqualTo(3);
+    }
+
+    @Test
+    void handWrittenRepository() throws Exception {
+        //given
+        long before = count("MemberJpaRepository", "findByUsernameAndAgeGreaterThan");
+
+        //when
+        memberJpaRepository.findByUsernameAndAgeGreaterThan("metric", 15);
+
+        //then
+        assertThat(count("MemberJpaRepository", "findByUsernameAndAgeGreaterThan")).isEqualTo(before + 1);
+        assertThat(summary("repository.rows", "MemberJpaRepository", "findByUsernameAndAgeGreaterThan")).isEqualTo(1);
+    }
+
+    private long count(String repository, String method) {
+        return Search.in(meterRegistry).name("repository.invocations")
+                .tag("repository", repository).tag("method", method)
+                .timers().stream().mapToLong(timer -> timer.count()).sum();
+    }
+
+    // 마지막 호출 값만 보기 위해 max 를 쓴다 (같은 메서드를 다른 테스트에서 부르지 않는다)
+    private double summary(String name, String repository, String method) {
+        return Search.in(meterRegistry).name(name)
+                .tag("repository", repository).tag("method", method)
+                .summary().max();
+    }
+}
@@ -0,0 +1,33 @@
+package study.datajpa.support.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// threshold 0 이면 모든 쿼리가 슬로우 쿼리로 기록된다.
+@SpringBootTest(properties = {
+        "observability.slow-query.enabled=true",
+        "observability.slow-query.threshold=0ms"})
+@Transactional
+class SlowQueryStatisticsTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired MeterRegistry meterRegistry;
+
+    @Test
+    void slowQueryIsCounted() throws Exception {
+        //given
+        double before = meterRegistry.get("hibernate.query.slow").counter().count();
+
+        //when
+        memberRepository.findByUsernameAndAgeGreaterThan("slow", 0);
+
+        //then
+        assertThat(meterRegistry.get("hibernate.query.slow").counter().count()).isEqualTo(before + 1);
+    }
+}
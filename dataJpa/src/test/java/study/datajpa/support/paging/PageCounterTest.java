@@ -0,0 +1,70 @@
+package study.datajpa.support.paging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PageCounterTest {
+
+    PageCounter pageCounter = new PageCounter(Duration.ofMinutes(1), 100);
+    AtomicInteger countQueries = new AtomicInteger();
+
+    CountQuery countQuery = CountQuery.of("members", () -> {
+        countQueries.incrementAndGet();
+        return 100;
+    }).estimatedBy(() -> 90L);
+
+    @Test
+    void exactAlwaysCounts() throws Exception {
+        //when
+        CountedPage<String> page = pageCounter.toPage(new SliceImpl<>(List.of("a"), PageRequest.of(0, 3), false), CountMode.EXACT, countQuery);
+
+        //then
+        assertThat(page.getTotalElements()).isEqualTo(100);
+        assertThat(page.isTotalExact()).isTrue();
+        assertThat(countQueries).hasValue(1);
+    }
+
+    @Test
+    void skipWhenPartialUsesContentOnLastPage() throws Exception {
+        //when
+        CountedPage<String> last = pageCounter.toPage(new SliceImpl<>(List.of("a", "b"), PageRequest.of(2, 3), false), CountMode.SKIP_WHEN_PARTIAL, countQuery);
+        CountedPage<String> middle = pageCounter.toPage(new SliceImpl<>(List.of("a", "b", "c"), PageRequest.of(1, 3), true), CountMode.SKIP_WHEN_PARTIAL, countQuery);
+
+        //then
+        assertThat(last.getTotalElements()).isEqualTo(8);
+        assertThat(last.isTotalExact()).isTrue();
+        assertThat(middle.getTotalElements()).isEqualTo(100);
+        assertThat(countQueries).hasValue(1); // 마지막 페이지는 count 쿼리를 생략
+    }
+
+    @Test
+    void cachedCountsOncePerKey() throws Exception {
+        //when
+        CountedPage<String> first = pageCounter.toPage(new SliceImpl<>(List.of("a", "b", "c"), PageRequest.of(0, 3), true), CountMode.CACHED, countQuery);
+        CountedPage<String> second = pageCounter.toPage(new SliceImpl<>(List.of("d", "e", "f"), PageRequest.of(1, 3), true), CountMode.CACHED, countQuery);
+
+        //then
+        assertThat(first.isTotalExact()).isTrue();
+        assertThat(second.getTotalElements()).isEqualTo(100);
+        assertThat(second.isTotalExact()).isFalse();
+        assertThat(countQueries).hasValue(1);
+    }
+
+    @Test
+    void estimatedNeverContradictsContent() throws Exception {
+        //when
+        CountedPage<String> page = pageCounter.toPage(new SliceImpl<>(List.of("a", "b", "c"), PageRequest.of(40, 3), true), CountMode.ESTIMATED, countQuery);
+
+        //then
+        assertThat(page.getTotalElements()).isEqualTo(124); // 추정치(90)보다 이미 본 건수 + 1 이 더 크다.
+        assertThat(page.isTotalExact()).isFalse();
+        assertThat(countQueries).hasValue(0);
+    }
+}
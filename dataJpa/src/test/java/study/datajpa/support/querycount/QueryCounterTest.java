@@ -0,0 +1,68 @@
+package study.datajpa.support.querycount;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class QueryCounterTest {
+
+    @Autowired MemberRepository memberRepository;
+
+    @PersistenceContext
+    EntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamB));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void lazyLoadingIsBatchFetched() throws Exception {
+        //when
+        long start = QueryCounter.current();
+        List<Member> members = memberRepository.findMemberCustom();
+        for (Member member : members) {
+            if (member.getTeam() != null) {
+                member.getTeam().getName(); // 팀 프록시는 @BatchSize 로 in 절 한 번에 초기화된다.
+            }
+        }
+
+        //then
+        assertThat(QueryCounter.current() - start).isEqualTo(1 + 1);
+    }
+
+    @Test
+    void fetchJoinIsCountedOnce() throws Exception {
+        //when
+        long start = QueryCounter.current();
+        List<Member> members = memberRepository.findMemberFetchJoin();
+        for (Member member : members) {
+            if (member.getTeam() != null) {
+                member.getTeam().getName();
+            }
+        }
+
+        //then
+        assertThat(QueryCounter.current() - start).isEqualTo(1);
+    }
+}
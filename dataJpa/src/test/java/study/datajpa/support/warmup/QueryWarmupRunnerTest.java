@@ -0,0 +1,34 @@
+package study.datajpa.support.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "query-warmup.enabled=true")
+class QueryWarmupRunnerTest {
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Test
+    public void warmupRunsBeforeReady() throws Exception {
+        //given
+        //when: 컨텍스트가 뜨는 동안 ApplicationRunner 로 실행된다. (test application.properties 에서 fail-on-error=true)
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+        //then
+        assertThat(meterRegistry.get("query.warmup").timer().count()).isEqualTo(1);
+        assertThat(statistics.getQueryExecutionCount()).isPositive();
+        assertThat(statistics.getQueryCachePutCount()).isZero(); // 자리표시 인자의 결과는 쿼리 캐시에 남기지 않는다
+        assertThat(meterRegistry.find("repository.invocations").timers()).isEmpty(); // 지표에도 남기지 않는다
+    }
+}